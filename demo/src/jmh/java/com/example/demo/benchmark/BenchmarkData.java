@@ -0,0 +1,109 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.common.jpa.IdGeneratorInitializer;
+import com.example.demo.post.search.PostSearchIndex;
+import com.example.demo.post.service.PostCountService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/*
+ * 벤치마크용 서버 실행 + 데이터 채우기
+ * 매 벤치마크(Trial)마다 새 내장 H2(MySQL 모드) DB로 서버를 띄우고, JPA 대신 JDBC 일괄 INSERT 로 빠르게 채운다.
+ * id는 1부터 직접 넣고, 데이터를 다 넣은 뒤 id 발급 테이블/검색 색인/게시글 수 캐시를 다시 만들어서 실제 서버가 뜬 직후와 같은 상태로 맞춘다.
+ */
+final class BenchmarkData {
+
+    static final String PASSWORD = "benchpass1";   // 시드 회원 공통 비밀번호
+    static final int AUTHORS = 100;                 // 작성자 수 (user0 ~ user99)
+    static final String[] KEYWORDS = {"스프링", "자바", "데이터베이스", "성능", "게시판", "댓글", "캐시", "인덱스"};
+
+    private static final int BATCH_SIZE = 5_000;    // 한 번에 INSERT 할 행 수
+
+    private BenchmarkData() {
+    }
+
+    // 서버를 띄우고 게시글 posts 개 + (앞쪽 commentedPosts 개 게시글에) 글마다 댓글 commentsPerPost 개 채우기
+    static ConfigurableApplicationContext start(int posts, int commentedPosts, int commentsPerPost,
+                                                String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "management.server.port=-1", // 관리 포트(8081)는 열지 않음
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.flyway.enabled=false", // 마이그레이션 SQL 은 MySQL 전용
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "app.schema.explain-check=false",
+                "app.search.fulltext=false",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN"));
+        properties.addAll(List.of(extraProperties));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+
+        seed(context, posts, Math.min(commentedPosts, posts), commentsPerPost);
+        context.getBean(IdGeneratorInitializer.class).align(); // 직접 넣은 id 뒤부터 발급되도록
+        context.getBean(PostSearchIndex.class).rebuild();
+        context.getBean(PostCountService.class).reconcile();
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int posts, int commentedPosts, int commentsPerPost) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD); // 해시는 한 번만 만들어서 공유
+        Random random = new Random(42); // 매번 같은 데이터가 나오도록 고정 시드
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < AUTHORS; i++) {
+            rows.add(new Object[]{i + 1, "user" + i, password, "작성자" + i});
+        }
+        jdbc.batchUpdate("insert into users (id, username, password, nickname) values (?, ?, ?, ?)", rows);
+        rows.clear();
+
+        for (int i = 1; i <= posts; i++) {
+            String title = "게시글 " + i + " " + keyword(random) + " " + keyword(random);
+            String content = keyword(random) + " 관련 내용 " + keyword(random) + " 정리 " + i;
+            rows.add(new Object[]{i, title, content, 1 + random.nextInt(AUTHORS), now, now});
+            if (rows.size() == BATCH_SIZE || i == posts) {
+                jdbc.batchUpdate("insert into post (id, title, content, user_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+
+        // 댓글은 최신 글(번호가 큰 글)부터 commentedPosts 개에만 달기 >> 1M 게시글 × 100 댓글은 메모리에 못 올림
+        long commentId = 0;
+        for (int postId = posts; postId > posts - commentedPosts; postId--) {
+            for (int c = 0; c < commentsPerPost; c++) {
+                rows.add(new Object[]{++commentId, "댓글 " + c + " " + keyword(random), postId, 1 + random.nextInt(AUTHORS), now});
+                if (rows.size() == BATCH_SIZE) {
+                    insertComments(jdbc, rows);
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            insertComments(jdbc, rows);
+        }
+    }
+
+    private static void insertComments(JdbcTemplate jdbc, List<Object[]> rows) {
+        jdbc.batchUpdate("insert into comment (id, content, post_id, user_id, created_at) values (?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private static String keyword(Random random) {
+        return KEYWORDS[random.nextInt(KEYWORDS.length)];
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.common.metrics.RequestStats;
+import com.example.demo.post.domain.Post;
+import com.example.demo.post.repository.PostRepository;
+import com.example.demo.user.domain.User;
+import com.example.demo.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 게시글 일괄 저장 성능 측정 : 한 트랜잭션에서 게시글 rows 개 저장
+ * batching=on  : 실제 설정 (hibernate.jdbc.batch_size=50, INSERT 50개를 한 번에 전송)
+ * batching=off : batch_size=1 >> INSERT 마다 DB 왕복 (예전 IDENTITY 방식과 같은 왕복 횟수)
+ * 결과의 roundTrips 값 / 실행 횟수 = 저장 한 번당 DB 왕복 수 (id 발급 UPDATE 포함)
+ * 예전 IDENTITY 방식 자체와 비교하려면 이 커밋 이전 버전에서 같은 벤치마크를 실행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkInsertBenchmark {
+
+    @Param({"on", "off"})
+    public String batching;
+
+    @Param({"1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private PostRepository postRepository;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+
+    // JMH 보조 지표 : 측정 구간 동안의 DB 왕복(Statement 실행) 횟수
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long roundTrips;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] properties = "off".equals(batching)
+                ? new String[]{"spring.jpa.properties.hibernate.jdbc.batch_size=1"}
+                : new String[0];
+        context = BenchmarkData.start(0, 0, 0, properties);
+        postRepository = context.getBean(PostRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int saveAll(RoundTrips counter) {
+        RequestStats stats = RequestStats.begin();
+        try {
+            Integer saved = transactionTemplate.execute(status -> {
+                User author = userRepository.getReferenceById(1L);
+                List<Post> posts = new ArrayList<>(rows);
+                for (int i = 0; i < rows; i++) {
+                    posts.add(new Post("일괄 저장 " + i, "벤치마크 내용 " + i, author));
+                }
+                return postRepository.saveAll(posts).size();
+            });
+            return saved == null ? 0 : saved;
+        } finally {
+            counter.roundTrips += stats.getQueryCount();
+            RequestStats.end();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.comment.dto.CommentPage;
+import com.example.demo.comment.service.CommentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 게시글 상세화면의 댓글 목록 조회 성능 측정
+ * cache=on  : 댓글 목록 캐시를 쓰는 실제 설정 (대부분 캐시에서 바로 응답)
+ * cache=off : 캐시 크기를 1로 줄여서 매번 DB에서 읽는 경우 (캐시 없는 기준값)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommentServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int posts;
+
+    @Param({"100"})
+    public int commentsPerPost;
+
+    @Param({"1000"})
+    public int commentedPosts; // 댓글이 달린 게시글 수 (최신 글부터)
+
+    @Param({"on", "off"})
+    public String cache;
+
+    private ConfigurableApplicationContext context;
+    private CommentService commentService;
+    private long firstCommentedPostId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] properties = "off".equals(cache)
+                ? new String[]{"app.cache.comments.max-size=1"}
+                : new String[0];
+        context = BenchmarkData.start(posts, commentedPosts, commentsPerPost, properties);
+        commentService = context.getBean(CommentService.class);
+        firstCommentedPostId = posts - Math.min(commentedPosts, posts) + 1L;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CommentPage getFirstComments() {
+        long postId = ThreadLocalRandom.current().nextLong(firstCommentedPostId, posts + 1L);
+        return commentService.getFirstComments(postId);
+    }
+}
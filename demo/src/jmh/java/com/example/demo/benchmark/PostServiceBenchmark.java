@@ -0,0 +1,71 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.post.dto.PostSummaryDto;
+import com.example.demo.post.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 게시글 목록/검색 성능 측정 (한 번 호출하는 데 걸리는 평균 시간)
+ * - listFirstPage  : 목록 첫 페이지 (가장 많이 열리는 화면)
+ * - listDeepPage   : 목록 뒤쪽 페이지 (OFFSET 이 커질수록 느려지는지)
+ * - search         : 키워드 검색 (검색어는 BenchmarkData.KEYWORDS 중 하나)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int posts;
+
+    @Param({"스프링", "데이터베이스 성능"})
+    public String keyword;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private int lastPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start(posts, 0, 0);
+        postService = context.getBean(PostService.class);
+        lastPage = posts / 10 - 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<PostSummaryDto> listFirstPage() {
+        return postService.findAllWithPaging(PageRequest.of(0, 10, Sort.by("id").descending()));
+    }
+
+    @Benchmark
+    public Page<PostSummaryDto> listDeepPage() {
+        int page = ThreadLocalRandom.current().nextInt(lastPage / 2, lastPage + 1);
+        return postService.findAllWithPaging(PageRequest.of(page, 10, Sort.by("id").descending()));
+    }
+
+    @Benchmark
+    public Page<PostSummaryDto> search() {
+        return postService.searchPostsByKeyword(keyword, PageRequest.of(0, 10));
+    }
+}
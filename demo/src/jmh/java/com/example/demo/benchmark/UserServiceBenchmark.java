@@ -0,0 +1,63 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.user.domain.User;
+import com.example.demo.user.dto.UserLoginRequestDto;
+import com.example.demo.user.dto.UserSignupRequestDto;
+import com.example.demo.user.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 회원가입/로그인 성능 측정 >> 대부분 BCrypt 해시 시간 (app.security.bcrypt.strength 조정 효과 확인용)
+ * 게시글 수와는 상관없으므로 작은 데이터로만 실행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong(); // 회원가입 아이디 중복 방지
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start(1000, 0, 0);
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User signup() {
+        UserSignupRequestDto dto = new UserSignupRequestDto();
+        dto.setUsername("b" + Long.toString(sequence.incrementAndGet(), 36)); // 아이디 최대 12자
+        dto.setPassword(BenchmarkData.PASSWORD);
+        dto.setNickname("벤치마크");
+        return userService.signup(dto);
+    }
+
+    @Benchmark
+    public User login() {
+        UserLoginRequestDto dto = new UserLoginRequestDto();
+        dto.setUsername("user" + ThreadLocalRandom.current().nextInt(BenchmarkData.AUTHORS));
+        dto.setPassword(BenchmarkData.PASSWORD);
+        return userService.login(dto);
+    }
+}
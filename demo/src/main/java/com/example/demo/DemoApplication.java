@@ -2,8 +2,12 @@ package com.example.demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // @Scheduled 주기 작업 사용 (캐시된 게시글 수 보정 등)
+@EnableAsync // @Async 백그라운드 작업 사용 (댓글 많은 게시글 나눠서 삭제 등)
 public class DemoApplication {
 
 	public static void main(String[] args) {
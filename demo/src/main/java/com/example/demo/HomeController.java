@@ -1,13 +1,21 @@
 package com.example.demo;
 
 
+import com.example.demo.post.ranking.PostRankingService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @Controller
+@RequiredArgsConstructor
 public class HomeController {
+
+    private final PostRankingService postRankingService; // "지금 인기글" (메모리에 미리 계산된 목록)
+
     @GetMapping("/")// 브라우저에서 http://localhost:8008/ 요청이 오면
-    public String home(){
+    public String home(Model model){
+        model.addAttribute("trendingPosts", postRankingService.top()); // DB 조회 없음
         return "index";
         // resources/templates/index.html 파일을 찾아서 보여줌
     }
@@ -1,20 +1,19 @@
 package com.example.demo.comment.controller;
 
 import com.example.demo.comment.domain.Comment;
-import com.example.demo.comment.repository.CommentRepository;
 import com.example.demo.comment.service.CommentService;
 import com.example.demo.post.domain.Post;
 import com.example.demo.post.repository.PostRepository;
-import com.example.demo.user.domain.User;
+import com.example.demo.user.domain.CustomUserDetails;
 import com.example.demo.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.security.Principal;
 @Controller
 @RequiredArgsConstructor // 생성자 주입 자동 처리
 
@@ -22,30 +21,25 @@ import java.security.Principal;
 public class CommentController {
 
     private final CommentService commentService; //댓글저장,조회 등 담당
-    private final PostRepository postRepository; //postId로 게시글 조회
-    private final UserRepository userRepository; //로그인한 사용자 조회
-    private final CommentRepository commentRepository; //댓글 삭제,수정에 사용
+    private final PostRepository postRepository; //postId로 Post 프록시 만들기
+    private final UserRepository userRepository; //로그인한 사용자 id로 User 프록시 만들기
 
     //댓글 등록처리하기
     @PostMapping
     public String createComment(@RequestParam Long postId,
                                 @RequestParam String content,
-                                Principal principal){
-        //로그인한 사용자 usder네임 가져오기(principal은 로그인한 사용자 정보)
-        String username = principal.getName();
+                                @AuthenticationPrincipal CustomUserDetails loginUser){
+        //로그인한 사용자 정보는 세션의 CustomUserDetails에 이미 있으므로 users 테이블을 다시 조회하지 않는다
+        //getReferenceById : SELECT 없이 id만 가진 User 프록시 (댓글의 user_id FK 값으로만 사용)
 
-        //가져온 username으로 DB에서 User엔티티 찾기
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(()->new IllegalArgumentException("사용자가 존재하지 않습니다."));
-
-        //댓글이 달릴 게시글(Post) 엔티티 찾기
-        Post post =postRepository.findById(postId)
-                .orElseThrow(()->new IllegalArgumentException("해당 게시글이 존재하지 않습니다."));
+        //댓글이 달릴 게시글(Post)도 post_id FK 값으로만 쓰므로 SELECT 없이 프록시로
+        //없는 게시글이면 CommentService 가 댓글 수 갱신(UPDATE)에서 0건인 것을 보고 예외 >> 댓글 저장도 롤백
+        Post post = postRepository.getReferenceById(postId);
 
         //모든 검사와 조건을 통과하면 새로운 댓글 객체 생성 및 값 설정하기
         Comment comment= new Comment();
         comment.setContent(content); //댓글 내용
-        comment.setUser(user); //댓글 작성자 (회원가입User)
+        comment.setUser(userRepository.getReferenceById(loginUser.getId())); //댓글 작성자 (회원가입User)
         comment.setPost(post); //어떤 게시글에 달린 댓글인지
 
         commentService.createComment(comment);
@@ -57,36 +51,23 @@ public class CommentController {
     @PostMapping("/{id}/edit")
     public String updateComment(@PathVariable Long id,
                                 @RequestParam String newContent,
-                                Principal principal){
-        //로그인 사용자 확인하기
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
-
-        // 댓글 수정 (작성자 검증은 Service 안에서 처리)
-        commentService.updateComment(id, newContent);
+                                @AuthenticationPrincipal CustomUserDetails loginUser){
+        // 댓글 수정 (로그인 여부는 Security가 확인, 작성자 검증용 id는 세션의 로그인 정보에서 꺼냄)
+        // 수정된 댓글이 속한 게시글 번호를 돌려받음
+        Long postId = commentService.updateComment(id, loginUser.getId(), newContent);
 
         // 수정 후 해당 댓글이 속한 게시글 상세로 이동
-        Long postId = commentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("댓글 없음"))
-                .getPost().getId();
         return "redirect:/posts/" + postId;
     }
 
     // 댓글 삭제하기
     @PostMapping("/{id}/delete")
     public String deleteComment(@PathVariable Long id,
-                                Principal principal){
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(()-> new IllegalArgumentException("사용자 존재하지 않음"));
-
-        //댓글 삭제 동작
-        commentService.deleteComment(id,user.getId());
+                                @AuthenticationPrincipal CustomUserDetails loginUser){
+        //댓글 삭제 동작 (작성자 검증용 id는 세션의 로그인 정보에서 꺼냄)
+        //삭제된 댓글은 다시 조회할 수 없으므로 게시글 번호는 서비스가 삭제 전에 꺼내서 돌려준다
+        Long postId = commentService.deleteComment(id,loginUser.getId());
 
-        Long postId = commentRepository.findById(id)
-                .orElseThrow(()->new IllegalArgumentException("댓글 없음"))
-                .getPost().getId();
         return "redirect:/posts/" + postId;
     }
 
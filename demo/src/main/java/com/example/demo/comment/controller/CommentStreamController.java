@@ -0,0 +1,33 @@
+package com.example.demo.comment.controller;
+
+import com.example.demo.comment.stream.CommentStreamHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// 상세화면의 실시간 댓글 (detail.html 의 EventSource 가 연결)
+@RestController
+@RequiredArgsConstructor
+public class CommentStreamController {
+
+    private final CommentStreamHub commentStreamHub;
+
+    //연결을 열어두고 댓글이 작성/수정/삭제될 때마다 "comment" 이벤트를 받는다
+    @GetMapping(value = "/posts/{postId}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@PathVariable Long postId){
+        SseEmitter emitter = commentStreamHub.subscribe(postId);
+        if (emitter == null) {
+            //구독자가 너무 많으면 바로 거절 (브라우저는 실시간 갱신 없이 새로고침으로 보면 됨)
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.demo.comment.domain;
 
 import com.example.demo.post.domain.Post;
 import com.example.demo.user.domain.User;
+import com.example.demo.common.jpa.IdGenerators;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -16,11 +17,17 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor  //기본 생성자 자동 생성
+// 게시글별 댓글 목록(작성순) 인덱스, 실제 DB 는 db/migration/V3__query_indexes.sql 로 만든다
+@Table(indexes = @Index(name = "idx_comment_post_created", columnList = "post_id, created_at"))
 
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 번호는 id_generator 테이블의 "comment" 행에서 50개씩 받아와서 사용 (배치 INSERT 가능)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_id")
+    @TableGenerator(name = "comment_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.KEY_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "comment",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;  //댓글 기본 키 자동증가
 
     @Column(nullable = false,length = 200)
@@ -0,0 +1,31 @@
+package com.example.demo.comment.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/*
+ * 📌 실시간 댓글 변경 알림 (SSE 로 상세화면에 보내는 값, JSON)
+ * - CREATED : 화면에 새 댓글 추가 (작성자/내용/작성일)
+ * - UPDATED : 내용만 바꾸기
+ * - DELETED : id 만 (화면에서 지우기)
+ * 작성일은 상세화면과 같은 모양(MM/dd HH:mm)으로 미리 만들어 보낸다
+ */
+public record CommentDelta(Type type, Long id, String nickname, String username, String content, String createdAt) {
+
+    private static final DateTimeFormatter CREATED_AT = DateTimeFormatter.ofPattern("MM/dd HH:mm");
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public static CommentDelta created(Long id, String nickname, String username, String content, LocalDateTime createdAt) {
+        return new CommentDelta(Type.CREATED, id, nickname, username, content,
+                createdAt == null ? null : CREATED_AT.format(createdAt));
+    }
+
+    public static CommentDelta updated(Long id, String content) {
+        return new CommentDelta(Type.UPDATED, id, null, null, content, null);
+    }
+
+    public static CommentDelta deleted(Long id) {
+        return new CommentDelta(Type.DELETED, id, null, null, null, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.comment.dto;
+
+import java.util.List;
+
+/*
+ * 📌 댓글 한 묶음 (상세화면 첫 묶음 / "댓글 더 보기"로 불러오는 다음 묶음)
+ * - 댓글이 수만 개인 글도 한 번에 page-size 개까지만 읽고 그린다
+ * - hasNext : 뒤에 댓글이 더 있는지 (size+1개를 읽어서 판단, COUNT 없음)
+ * - 다음 묶음은 마지막 댓글의 (작성일시, id) 다음부터 (커서 페이징)
+ */
+public record CommentPage(List<CommentViewDto> comments, boolean hasNext) {
+
+    // 이 묶음의 마지막 댓글 (다음 묶음의 커서), 비어 있으면 null
+    public CommentViewDto last() {
+        return comments.isEmpty() ? null : comments.get(comments.size() - 1);
+    }
+}
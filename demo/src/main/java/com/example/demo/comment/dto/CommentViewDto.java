@@ -0,0 +1,22 @@
+package com.example.demo.comment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/*
+ * 📌 게시글 상세화면의 댓글 목록용 조회 DTO
+ * - 화면에 필요한 값(내용, 작성일, 작성자 닉네임/아이디)만 담는다
+ * - username 은 본인 댓글일 때만 수정/삭제 버튼을 보여주기 위해 사용
+ */
+@Getter
+@AllArgsConstructor
+public class CommentViewDto {
+    private Long id;
+    private String content;
+    private LocalDateTime createdAt;
+    private String nickname; // 작성자 닉네임
+    private String username; // 작성자 아이디 (#authentication.name 과 비교)
+    private LocalDateTime updatedAt; // 수정일시 (수정 안 했으면 null) >> 상세화면 ETag 계산용
+}
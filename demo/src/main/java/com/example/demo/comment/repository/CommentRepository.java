@@ -1,15 +1,51 @@
 package com.example.demo.comment.repository;
 
 import com.example.demo.comment.domain.Comment;
+import com.example.demo.comment.dto.CommentViewDto;
 import com.example.demo.post.domain.Post;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 //JPA는 CRUD 메서드 제공!
 public interface CommentRepository extends JpaRepository<Comment,Long> {
     //Comment엔티티 ,PK타입은 Long!
 
-    //특정 게시글(게시글상세페이지)의 댓글 전부 불러오기
-    List<Comment> findAllByPostIdOrderByCreatedAtAsc(Long postId);
+    //상세화면 댓글 목록용 (DTO 프로젝션) : 화면에 필요한 컬럼만 SELECT, 엔티티로 관리되지 않음
+    String VIEW = "select new com.example.demo.comment.dto.CommentViewDto(c.id, c.content, c.createdAt, u.nickname, u.username, c.updatedAt) " +
+            "from Comment c join c.user u where c.post.id = :postId ";
+    String OLDEST_FIRST = " order by c.createdAt asc, c.id asc";
+
+    // 첫 묶음 : 오래된 댓글부터 pageable 크기만큼 (Slice 라서 COUNT 없이 size+1개로 다음 묶음 여부 확인)
+    @Query(VIEW + OLDEST_FIRST)
+    Slice<CommentViewDto> findFirstViews(@Param("postId") Long postId, Pageable pageable);
+
+    // 다음 묶음 : 마지막으로 본 댓글의 (작성일시, id) 보다 뒤에 있는 댓글부터 (커서 페이징)
+    // 작성일시가 같은 댓글이 있어도 id 로 순서가 정해지므로 빠지거나 겹치지 않는다
+    // idx_comment_post_created(post_id, created_at) 인덱스 뒤에는 InnoDB 가 PK(id)를 붙여두므로 이 순서 그대로 인덱스를 탄다
+    @Query(VIEW + "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id))" + OLDEST_FIRST)
+    Slice<CommentViewDto> findViewsAfter(@Param("postId") Long postId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    long countByPostId(Long postId);
+
+    /*
+     * 댓글 일괄 삭제 : 댓글 엔티티를 읽지 않고 DELETE 한 문장으로 (게시글 삭제 시)
+     */
+    @Modifying
+    @Query(value = "delete from comment where post_id = :postId", nativeQuery = true)
+    int deleteByPostIdInBulk(@Param("postId") Long postId);
+
+    // 댓글이 아주 많은 글은 한 번에 지우면 행 잠금이 길어지므로 limit 개씩 나눠서 (MySQL DELETE ... LIMIT)
+    @Modifying
+    @Query(value = "delete from comment where post_id = :postId limit :limit", nativeQuery = true)
+    int deleteChunkByPostId(@Param("postId") Long postId, @Param("limit") int limit);
 
 }
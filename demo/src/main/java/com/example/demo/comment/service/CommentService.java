@@ -2,16 +2,29 @@ package com.example.demo.comment.service;
 
 
 import com.example.demo.comment.domain.Comment;
+import com.example.demo.comment.dto.CommentDelta;
+import com.example.demo.comment.dto.CommentPage;
+import com.example.demo.comment.dto.CommentViewDto;
 import com.example.demo.comment.repository.CommentRepository;
+import com.example.demo.comment.stream.CommentStreamHub;
+import com.example.demo.common.cache.LruTtlCache;
+import com.example.demo.common.datasource.PrimaryReader;
 import com.example.demo.post.domain.Post;
+import com.example.demo.post.ranking.PostRankingService;
+import com.example.demo.post.service.PostListVersion;
+import com.example.demo.post.view.CommentFragments;
 import com.example.demo.post.repository.PostRepository;
 import com.example.demo.user.domain.User;
 import com.example.demo.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.access.AccessDeniedException; //댓글삭제시 검증
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -22,6 +35,15 @@ public class CommentService { //서비스 클래스가 리포지터리를 사용
     private final CommentRepository commentRepository; //댓글DB 접근
     private final PostRepository postRepository; //게시글 존재, 조회 확인하기
     private final UserRepository userRepository; //작성자 조회하기
+    private final LruTtlCache<Long, CommentPage> commentListCache; //게시글번호 -> 댓글 첫 묶음 캐시
+    private final LruTtlCache<Long, CommentFragments> commentFragmentCache; //게시글번호 -> 미리 그려둔 댓글 HTML
+    private final PostRankingService postRankingService; //인기글 점수 (댓글이 달리면 올라감)
+    private final PostListVersion postListVersion; //목록의 댓글 수/활동순이 바뀌므로 목록 ETag 버전 올리기
+    private final CommentStreamHub commentStreamHub; //상세화면을 보고 있는 사람에게 바뀐 댓글 알리기 (커밋 후)
+    private final PrimaryReader primaryReader; //댓글 캐시를 채우는 조회는 primary 에서
+
+    @Value("${app.comment.page-size:50}")
+    private int pageSize; //상세화면/댓글 더 보기 한 번에 읽는 댓글 수
 
     //댓글 달기
     @Transactional //이 메서드 안의DB작업들을 하나의 묶음으로 처리하겠다!하나라도 오류나면 엎어버림!
@@ -38,41 +60,84 @@ public class CommentService { //서비스 클래스가 리포지터리를 사용
         comment.setUser(author);
         comment.setContent(content);
         //new Comment를 comment에 담아서 return값 전달
-        return commentRepository.save(comment);//JPA리포지터리 상속받은 comment리포지터리의save기능을 사용해 저장
+        Comment saved = commentRepository.save(comment);//JPA리포지터리 상속받은 comment리포지터리의save기능을 사용해 저장
+        postRepository.incrementCommentCount(postId, saved.getCreatedAt()); //게시글의 댓글 수 +1, 최근 활동 시각 갱신 (DB에서 바로 계산)
+        commentListCache.invalidateAfterCommit(postId); //댓글 목록이 바뀌었으니 캐시 지우기(커밋 후 한 번 더)
+        commentFragmentCache.invalidateAfterCommit(postId); //그려둔 댓글 HTML 도
+        postRankingService.recordComment(postId); //인기글 점수 올리기 (커밋 후)
+        postListVersion.bumpAfterCommit();
+        commentStreamHub.publishAfterCommit(postId, () -> CommentDelta.created(saved.getId(),
+                author.getNickname(), author.getUsername(), content, saved.getCreatedAt()));
+        return saved;
+    }
+
+    //조회하기 : 상세화면에 처음 보여줄 댓글 첫 묶음 (오래된 순으로 pageSize 개)
+    //캐시를 채우는 조회는 PrimaryReader 의 읽기 전용 트랜잭션으로 primary 에서 (replica 가 늦으면 지운 댓글이 캐시에 다시 들어감)
+    public CommentPage getFirstComments(Long postId){
+        // 예전에는 게시글의 댓글을 전부 읽었다 >> 댓글이 수만 개인 글은 요청 하나가 댓글 수만큼 메모리를 씀
+        // 지금은 첫 묶음만 읽고, 나머지는 "댓글 더 보기"로 getCommentsAfter 를 묶음 단위로 호출
+        // 화면 표시용이라 엔티티 대신 필요한 값만 담은 DTO로 조회 (영속성 컨텍스트/변경감지 비용 없음)
+        // 캐시에 있으면 DB 조회 없이 반환, 댓글이 작성/수정/삭제되면 해당 게시글 캐시만 지운다
+        return commentListCache.getOrLoad(postId, key -> primaryReader.read(
+                () -> toPage(commentRepository.findFirstViews(key, PageRequest.of(0, pageSize)))));
+    }
+
+    //다음 묶음 : (createdAt, id) 댓글 다음부터 pageSize 개 (캐시하지 않음, 읽은 묶음만큼만 메모리 사용)
+    @Transactional(readOnly = true)
+    public CommentPage getCommentsAfter(Long postId, LocalDateTime createdAt, Long id){
+        return toPage(commentRepository.findViewsAfter(postId, createdAt, id, PageRequest.of(0, pageSize)));
     }
 
-    //조회하기
-    @Transactional(readOnly = true)//트랜잭션은 원래 쓰기기능도 들어있어서 실수로라도 쓰는걸 방지하기 위해 읽기전용으로 선언
-    public List<Comment> getCommentsByPost(Long postId){
-        // postId로 해당 게시글의 모든 댓글을 검색
-        // createdAt 기준으로 오름차순으로 정렬해서 반환!
-        return commentRepository.findAllByPostIdOrderByCreatedAtAsc(postId);
+    private CommentPage toPage(Slice<CommentViewDto> slice){
+        return new CommentPage(List.copyOf(slice.getContent()), slice.hasNext());
     }
 
     //댓글 작성하기
     @Transactional//하나 실패하면 다 실패!
     public Comment createComment(Comment comment){
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        //게시글을 조회하지 않고 프록시로 붙인 경우도 있으므로 갱신된 행이 없으면 없는 게시글
+        if (postRepository.incrementCommentCount(comment.getPost().getId(), saved.getCreatedAt()) == 0) {
+            throw new IllegalArgumentException("해당 게시글이 존재하지 않습니다.");
+        }
+        commentListCache.invalidateAfterCommit(comment.getPost().getId());
+        commentFragmentCache.invalidateAfterCommit(comment.getPost().getId());
+        postRankingService.recordComment(comment.getPost().getId());
+        postListVersion.bumpAfterCommit();
+        //작성자가 id만 가진 프록시면 닉네임을 꺼낼 때 조회 1번 (보고 있는 사람이 있을 때만)
+        commentStreamHub.publishAfterCommit(comment.getPost().getId(), () -> CommentDelta.created(saved.getId(),
+                saved.getUser().getNickname(), saved.getUser().getUsername(), saved.getContent(), saved.getCreatedAt()));
+        return saved;
     }
 
-    //댓글 수정하기(내용만)
+    //댓글 수정하기(내용만), 댓글이 속한 게시글 번호 반환 (수정 후 상세화면으로 돌아가기 위해)
     @Transactional
-    public void updateComment(Long id, String newContent){
+    public Long updateComment(Long id, Long userId, String newContent){
         //댓글이 DB에 존재하는지 먼저 확인
         Comment comment=commentRepository.findById(id)
                 .orElseThrow(() ->  new IllegalArgumentException("해당 댓글이 존재하지 않습니다. id=" + id));
+        //작성자 본인만 수정 가능 (삭제와 같은 검증), 수정 내용은 상세화면을 보고 있는 모두에게 전달되므로 반드시 먼저 확인
+        //getUser().getId()는 프록시라 추가 조회 없음
+        if(!comment.getUser().getId().equals(userId)){
+            throw new AccessDeniedException("댓글 수정 권한이 없습니다.");
+        }
 
         // Comment 엔티티 속 updateContent() 메서드 호출
         //이 메서드에서 content필드를 newContent로 변경후 updateAt 시간을 현재시간으로 갱신
         comment.updateContent(newContent);
+        Long postId = comment.getPost().getId(); //getPost().getId()는 프록시라 추가 조회 없음
+        commentListCache.invalidateAfterCommit(postId);
+        commentFragmentCache.invalidateAfterCommit(postId);
+        commentStreamHub.publishAfterCommit(postId, () -> CommentDelta.updated(id, newContent));
 
         //void로 반환값이 필요없음! save()등 호출이 필요없음, JPA의 변경감지(Dirty Checking)기능으로 트랜잭션이 끝날때
         //자동으로 UPDATE 쿼리가 실행된다.
+        return postId;
     }
 
-    //댓글 삭제하기
+    //댓글 삭제하기, 삭제된 댓글이 속했던 게시글 번호 반환
     @Transactional
-    public void deleteComment(Long commentId, Long userId){
+    public Long deleteComment(Long commentId, Long userId){
         // 1차검증 > 댓글이 실제 DB에 존재하는지 먼저 확인
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(()-> new IllegalArgumentException("해당 댓글이 존재하지 않습니다. id="+commentId));
@@ -84,6 +149,13 @@ public class CommentService { //서비스 클래스가 리포지터리를 사용
             //예외를 던져서 컨트롤러에서 잡아내고 403 Forbidden처리 가능하다
         }
         //본인일 경우 삭제 진행
+        Long postId = comment.getPost().getId();
         commentRepository.delete(comment);//DB에서 해당 댓글 행을 DELETE실행
+        postRepository.decrementCommentCount(postId); //게시글의 댓글 수 -1, 마지막 댓글 시각 다시 계산
+        commentListCache.invalidateAfterCommit(postId);
+        commentFragmentCache.invalidateAfterCommit(postId);
+        postListVersion.bumpAfterCommit();
+        commentStreamHub.publishAfterCommit(postId, () -> CommentDelta.deleted(commentId));
+        return postId;
     }
 }
@@ -0,0 +1,226 @@
+package com.example.demo.comment.stream;
+
+import com.example.demo.comment.dto.CommentDelta;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * 게시글별 실시간 댓글 알림 (SSE, GET /posts/{id}/comments/stream)
+ * 새 댓글을 보려고 상세화면을 새로고침하면 화면 전체를 다시 그리고 댓글 목록도 다시 읽으므로,
+ * 보고 있는 사람에게 바뀐 댓글 하나(CommentDelta)만 밀어준다.
+ *
+ * - 구독자마다 연결(SseEmitter) + 크기 제한 대기열(buffer-size)
+ *   보낼 것이 없는 구독자는 스레드를 쓰지 않는다 (Tomcat 비동기 요청으로 연결만 유지)
+ * - 알림 하나는 JSON 으로 한 번만 만들어서 모든 구독자 대기열에 같은 값을 넣는다
+ * - 실제 전송은 대기열에 값이 생긴 구독자만 가상 스레드 하나가 맡아서 비울 때까지 보낸다
+ *   >> 네트워크가 느린 구독자 때문에 다른 구독자나 댓글을 쓴 요청이 기다리지 않는다
+ * - 대기열이 가득 찬(못 따라오는) 구독자는 연결을 끊는다, 브라우저는 다시 연결하면서 화면을 새로 읽는다
+ * - 트랜잭션 안에서 부르면 커밋된 뒤에 보낸다 (롤백된 댓글은 알리지 않음)
+ * - 연결이 끊긴 것을 알아채기 위해 heartbeat-interval-ms 마다 빈 주석(ping)을 보낸다
+ */
+@Slf4j
+@Component
+public class CommentStreamHub {
+
+    private static final Set<DataWithMediaType> PING = SseEmitter.event().comment("ping").build();
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>(); // 게시글id -> 구독자들
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter sent;
+    private final Counter dropped;
+
+    public CommentStreamHub(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.comment-stream.timeout:30m}") Duration timeout,
+                            @Value("${app.comment-stream.buffer-size:32}") int bufferSize,
+                            @Value("${app.comment-stream.max-subscribers:10000}") int maxSubscribers) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        Gauge.builder("comment.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("실시간 댓글 구독자 수")
+                .register(meterRegistry);
+        this.sent = Counter.builder("comment.stream.sent")
+                .description("구독자에게 보낸 알림 수")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("comment.stream.dropped")
+                .description("대기열이 가득 차서 끊은 구독자 수")
+                .register(meterRegistry);
+    }
+
+    // 구독 시작, 구독자가 max-subscribers 만큼 있으면 null (컨트롤러가 503 응답)
+    public SseEmitter subscribe(Long postId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(postId, new SseEmitter(timeoutMillis), bufferSize);
+        subscribers.compute(postId, (key, set) -> {
+            Set<Subscriber> next = set != null ? set : ConcurrentHashMap.newKeySet();
+            next.add(subscriber);
+            return next;
+        });
+        subscriber.emitter.onCompletion(() -> close(subscriber, false));
+        subscriber.emitter.onTimeout(() -> close(subscriber, true));
+        subscriber.emitter.onError(e -> close(subscriber, true));
+        enqueue(subscriber, PING); // 응답 헤더를 바로 보내서 브라우저가 연결됐음을 알게
+        return subscriber.emitter;
+    }
+
+    // 이 게시글을 보고 있는 사람이 있을 때만 알림을 만든다 (대부분의 댓글 쓰기는 여기서 끝)
+    public void publishAfterCommit(Long postId, Supplier<CommentDelta> delta) {
+        if (!subscribers.containsKey(postId)) {
+            return;
+        }
+        CommentDelta value = delta.get(); // 작성자 닉네임 등은 트랜잭션 안에서 미리 꺼내둔다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(postId, value);
+                }
+            });
+            return;
+        }
+        publish(postId, value);
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void publish(Long postId, CommentDelta delta) {
+        Set<Subscriber> targets = subscribers.get(postId);
+        if (targets == null) {
+            return;
+        }
+        Set<DataWithMediaType> event = SseEmitter.event().name("comment").data(toJson(delta)).build();
+        for (Subscriber subscriber : targets) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    // 연결이 살아있는지 확인용 ping (끊긴 연결은 보내다가 IOException 으로 정리된다)
+    @Scheduled(fixedDelayString = "${app.comment-stream.heartbeat-interval-ms:30000}",
+            initialDelayString = "${app.comment-stream.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        for (Set<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                enqueue(subscriber, PING);
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> event) {
+        if (!subscriber.queue.offer(event)) {
+            dropped.increment();
+            log.debug("실시간 댓글 구독자가 따라오지 못해 연결 종료 postId={}", subscriber.postId);
+            close(subscriber, true);
+            return;
+        }
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // 한 구독자의 대기열을 비울 때까지 보내기 (구독자 하나당 동시에 하나의 가상 스레드만)
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<DataWithMediaType> event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                    sent.increment();
+                } catch (IOException | IllegalStateException e) {
+                    close(subscriber, true); // 브라우저가 떠났거나 이미 끝난 연결
+                    return;
+                }
+            }
+            subscriber.sending.set(false);
+            // 마지막 poll 과 sending=false 사이에 들어온 값이 있으면 이어서 보내기
+        } while (!subscriber.queue.isEmpty() && subscriber.sending.compareAndSet(false, true));
+    }
+
+    private void close(Subscriber subscriber, boolean complete) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.computeIfPresent(subscriber.postId, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriberCount.decrementAndGet();
+        subscriber.queue.clear();
+        if (complete) {
+            try {
+                subscriber.emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // 이미 끝난 연결
+            }
+        }
+    }
+
+    private String toJson(CommentDelta delta) {
+        try {
+            return objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("댓글 알림 JSON 변환 실패", e);
+        }
+    }
+
+    // 서버 종료 : 열린 연결을 모두 닫아야 Tomcat 이 기다리지 않고 내려간다
+    @PreDestroy
+    public void shutdown() {
+        List<Subscriber> all = new ArrayList<>();
+        subscribers.values().forEach(all::addAll);
+        all.forEach(subscriber -> close(subscriber, true));
+        senders.shutdown();
+    }
+
+    private static final class Subscriber {
+        private final Long postId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean sending = new AtomicBoolean(); // 전송 중인 가상 스레드가 있는지
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long postId, SseEmitter emitter, int bufferSize) {
+            this.postId = postId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
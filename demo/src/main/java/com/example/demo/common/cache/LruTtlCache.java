@@ -0,0 +1,286 @@
+package com.example.demo.common.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/*
+ * 크기 제한(LRU) + 유효시간(TTL)이 있는 간단한 메모리 캐시
+ * - 최대 개수를 넘으면 가장 오래 안 쓰인 항목부터 버린다 (LinkedHashMap accessOrder)
+ * - 저장된 지 ttl 이 지난 항목은 꺼낼 때 버린다
+ * - 조회 성공(hit)/실패(miss)/밀려남(eviction)/무효화(invalidation) 횟수를 센다 >> CacheMetrics로 노출
+ * synchronized 대신 ReentrantLock 사용 (가상 스레드가 락을 기다리며 캐리어 스레드를 붙잡지 않도록)
+ */
+public class LruTtlCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> map;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();     // 크기 초과/유효시간 만료로 버린 횟수
+    private final LongAdder invalidations = new LongAdder(); // 쓰기 작업 때문에 직접 지운 횟수
+    // 지금 DB에서 읽는 중인 키 -> 진행 중인 읽기 (같은 키를 동시에 못 찾은 요청들은 이 읽기 하나를 같이 기다린다)
+    private final Map<K, Load<V>> loading = new HashMap<>();
+
+    public LruTtlCache(String name, int maxSize, Duration ttl) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // 캐시에 있으면 그 값을, 없으면 null
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = map.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.isExpired(ttlNanos)) {
+                map.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * read-through 조회 : 캐시에 없으면 loader(DB 조회)로 읽어와서 캐시에 넣고 돌려준다
+     * loader 가 null 을 돌려주면(게시글 없음 등) 캐시에 넣지 않는다
+     * DB 조회는 락 밖에서 실행 >> 느린 조회가 다른 키의 캐시 조회를 막지 않도록
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Load<V> load;
+        boolean owner = false;
+        lock.lock();
+        try {
+            Entry<V> entry = map.get(key); // get() 이후 다른 요청이 이미 넣었을 수 있음
+            if (entry != null && !entry.isExpired(ttlNanos)) {
+                return entry.value;
+            }
+            load = loading.get(key);
+            if (load == null) {
+                load = new Load<>();
+                loading.put(key, load);
+                owner = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!owner) {
+            // 이미 누가 읽는 중 >> DB에 또 가지 않고 그 결과를 기다린다 (인기글 캐시가 비었을 때 한꺼번에 몰리는 것 방지)
+            return load.await();
+        }
+
+        V loaded;
+        try {
+            loaded = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            finish(key, load, null);
+            load.future.completeExceptionally(e); // 기다리던 요청들도 같은 예외
+            throw e;
+        }
+        finish(key, load, loaded);
+        load.future.complete(loaded);
+        return loaded;
+    }
+
+    // 읽기가 끝나면 진행 중 목록에서 빼고, 읽는 도중 이 키가 무효화되지 않았을 때만 캐시에 넣는다
+    private void finish(K key, Load<V> load, V loaded) {
+        lock.lock();
+        try {
+            loading.remove(key, load);
+            if (loaded != null && !load.stale) {
+                map.put(key, new Entry<>(loaded));
+                puts.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 캐시에 있는 값만 바꾸기 (없으면 아무것도 안 함)
+    public void computeIfPresent(K key, UnaryOperator<V> update) {
+        lock.lock();
+        try {
+            Entry<V> entry = map.get(key);
+            if (entry != null && !entry.isExpired(ttlNanos)) {
+                map.put(key, new Entry<>(update.apply(entry.value), entry.createdAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 데이터가 바뀌었을 때 해당 키만 정확히 지우기
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            Load<V> load = loading.remove(key);
+            if (load != null) {
+                load.stale = true; // 읽는 중인 값은 옛 값일 수 있음 >> 캐시에 넣지 않고, 다음 요청은 새로 읽는다
+            }
+            if (map.remove(key) != null) {
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * @Transactional 메서드 안에서 부를 때 사용
+     * 지금 바로 지우고, 커밋이 끝난 뒤에 한 번 더 지운다
+     * >> 커밋 전에 다른 요청이 옛 데이터를 다시 캐시에 넣는 경우를 막기 위해
+     */
+    public void invalidateAfterCommit(K key) {
+        invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(key);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            loading.values().forEach(load -> load.stale = true);
+            loading.clear();
+            invalidations.add(map.size());
+            map.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 유효시간 지난 항목 정리 (CacheConfig에서 주기적으로 호출)
+    public void removeExpired() {
+        lock.lock();
+        try {
+            Iterator<Entry<V>> it = map.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().isExpired(ttlNanos)) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return map.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long invalidationCount() {
+        return invalidations.sum();
+    }
+
+    /*
+     * 진행 중인 읽기 하나 : 결과를 기다리는 future + 읽는 도중 그 키가 무효화됐는지 (stale)
+     * 무효화되면 진행 중 목록에서도 빠지므로 그 뒤에 온 요청은 이 읽기를 기다리지 않고 새로 읽는다
+     * (stale 은 lock 안에서만 읽고 쓴다)
+     */
+    private static final class Load<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private boolean stale;
+
+        private V await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+
+        private Entry(V value) {
+            this(value, System.nanoTime());
+        }
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+
+        private boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - createdAt > ttlNanos;
+        }
+    }
+}
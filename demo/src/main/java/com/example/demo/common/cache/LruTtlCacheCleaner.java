@@ -0,0 +1,20 @@
+package com.example.demo.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 유효시간이 지났는데 아무도 조회하지 않아 남아있는 캐시 항목을 주기적으로 정리 (메모리 회수)
+@Component
+@RequiredArgsConstructor
+public class LruTtlCacheCleaner {
+
+    private final List<LruTtlCache<?, ?>> caches; // 빈으로 등록된 모든 LruTtlCache
+
+    @Scheduled(fixedDelayString = "${app.cache.cleanup-interval-ms:60000}")
+    public void removeExpired() {
+        caches.forEach(LruTtlCache::removeExpired);
+    }
+}
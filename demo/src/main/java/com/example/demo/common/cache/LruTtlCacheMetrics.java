@@ -0,0 +1,56 @@
+package com.example.demo.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/*
+ * LruTtlCache 의 hit/miss/eviction 횟수를 Micrometer 지표로 등록
+ * >> /actuator/metrics/cache.gets?tag=cache:postDetail 처럼 조회 가능
+ */
+public class LruTtlCacheMetrics extends CacheMeterBinder<LruTtlCache<?, ?>> {
+
+    public LruTtlCacheMetrics(LruTtlCache<?, ?> cache) {
+        super(cache, cache.getName(), Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        LruTtlCache<?, ?> cache = getCache();
+        return cache == null ? null : (long) cache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        LruTtlCache<?, ?> cache = getCache();
+        return cache == null ? 0 : cache.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        LruTtlCache<?, ?> cache = getCache();
+        return cache == null ? null : cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        LruTtlCache<?, ?> cache = getCache();
+        return cache == null ? null : cache.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        LruTtlCache<?, ?> cache = getCache();
+        return cache == null ? 0 : cache.putCount();
+    }
+
+    // 쓰기 작업으로 직접 지운 횟수는 eviction 과 따로 보여준다
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.invalidations", getCache(), LruTtlCache::invalidationCount)
+                .tags(getTagsWithCacheName())
+                .description("쓰기 작업(수정/삭제/댓글)으로 무효화된 항목 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.common.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/*
+ * 여러 사용자가 같이 쓰는 메모리 캐시를 채우는 읽기는 primary 에서
+ * 쓰기 후 캐시를 지워도 다음에 캐시를 채우는 사람은 보통 다른 세션이라 ReadYourWrites 로 primary 에 고정되지 않는다.
+ * 그 읽기가 아직 따라오지 못한 replica 로 가면 옛 값이 캐시에 들어가 유효시간(10분) 내내 보인다.
+ * >> 캐시 미스 때의 로딩만 여기로 감싸서 항상 primary 에서 읽는다 (캐시 히트는 DB 를 안 쓰므로 replica 부하는 그대로 줄어듦)
+ * - 새 읽기 전용 트랜잭션(REQUIRES_NEW)으로 실행 >> 바깥 트랜잭션이 이미 replica 커넥션을 잡았어도 새 커넥션을 고른다
+ * - replica 설정이 없으면 원래 primary 하나뿐이므로 차이 없음
+ */
+@Component
+public class PrimaryReader {
+
+    private final TransactionTemplate transaction;
+
+    public PrimaryReader(PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T read(Supplier<T> query) {
+        return ReadYourWrites.onPrimary(() -> transaction.execute(status -> query.get()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/*
+ * 트랜잭션 종류에 따라 커넥션 풀 고르기
+ * - @Transactional(readOnly = true) >> replica (단, 최근에 쓰기를 한 사용자의 요청이면 primary, ReadYourWrites)
+ * - 그 외(쓰기 트랜잭션, 트랜잭션 밖) >> primary
+ * 트랜잭션 시작 시점에는 아직 readOnly 여부가 정해지기 전이라, LazyConnectionDataSourceProxy 로 감싸서
+ * 첫 SQL 을 실행할 때 커넥션을 고르게 한다 (DataSourceRoutingConfig)
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReadYourWrites.isPinned() ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWrites.markWrite(); // 이 사용자의 다음 요청들은 잠깐 primary 에서 읽기
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.common.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/*
+ * "내가 방금 쓴 글은 바로 보여야 한다" 표시 (read-your-writes)
+ * 복제 DB(replica)는 주 DB(primary)보다 조금 늦게 따라오므로, 글/댓글을 쓰고 목록으로 돌아오면 방금 쓴 글이 안 보일 수 있다.
+ * >> 최근에 쓰기를 한 사용자의 요청은 읽기 전용 트랜잭션도 잠깐 동안 primary 로 보낸다.
+ * 요청을 처리하는 스레드에 붙여두고(ThreadLocal) ReadYourWritesInterceptor 가 요청 시작/끝에 begin/end 한다.
+ * 쓰기 트랜잭션이 커밋되면 그 자리에서 onWrite 로 알린다 (세션에 쓰기 시각 기록)
+ * >> 요청 끝(afterCompletion)에 기록하면 이미 redirect 응답이 나간 뒤라, 브라우저의 다음 요청이 기록보다 먼저 도착할 수 있다
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<ReadYourWrites> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>(); // onPrimary 실행 중 (요청과 무관)
+
+    private final boolean pinned;   // 이번 요청의 읽기도 primary 로
+    private final Runnable onWrite; // 이번 요청의 쓰기 트랜잭션이 커밋될 때마다 호출
+
+    private ReadYourWrites(boolean pinned, Runnable onWrite) {
+        this.pinned = pinned;
+        this.onWrite = onWrite;
+    }
+
+    // 요청 시작 시 호출
+    public static void begin(boolean pinned, Runnable onWrite) {
+        CURRENT.set(new ReadYourWrites(pinned, onWrite));
+    }
+
+    public static void begin(boolean pinned) {
+        begin(pinned, () -> { });
+    }
+
+    // 요청 끝나면 반드시 호출 (스레드가 재사용되므로)
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isPinned() {
+        if (Boolean.TRUE.equals(PRIMARY_ONLY.get())) {
+            return true;
+        }
+        ReadYourWrites current = CURRENT.get();
+        return current != null && current.pinned;
+    }
+
+    // action 안의 읽기 전용 트랜잭션은 세션과 상관없이 primary 로 (PrimaryReader)
+    static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    // 쓰기 트랜잭션이 primary 커넥션을 받을 때 호출 (요청 밖이면 아무것도 안 함)
+    // 롤백되면 쓴 것이 없으므로 커밋됐을 때만 알린다
+    static void markWrite() {
+        ReadYourWrites current = CURRENT.get();
+        if (current == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                current.onWrite.run();
+            }
+        });
+    }
+}
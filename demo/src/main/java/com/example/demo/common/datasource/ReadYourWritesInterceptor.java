@@ -0,0 +1,52 @@
+package com.example.demo.common.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/*
+ * 요청마다 ReadYourWrites 시작/정리
+ * - 쓰기 트랜잭션 커밋 : 세션에 그 시각을 기록 (응답을 보내기 전, 핸들러 안에서 커밋될 때)
+ * - 요청 시작 : 세션에 기록된 마지막 쓰기가 window 안이면 이번 요청의 읽기도 primary 로
+ * 세션 단위이므로 다른 사용자의 읽기는 그대로 replica 로 간다
+ * 비동기 요청(SSE 등)은 afterCompletion 이 다른 스레드에서 불리므로 비동기 시작 시점에 이 스레드의 값을 정리
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    static final String LAST_WRITE_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".lastWrite";
+
+    private final long windowMillis;
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HttpSession session = request.getSession(false);
+        Object lastWrite = session == null ? null : session.getAttribute(LAST_WRITE_ATTRIBUTE);
+        ReadYourWrites.begin(lastWrite instanceof Long at && System.currentTimeMillis() - at < windowMillis,
+                () -> recordWrite(request));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWrites.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWrites.end();
+    }
+
+    private void recordWrite(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.setAttribute(LAST_WRITE_ATTRIBUTE, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.common.jpa;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/*
+ * id_generator 테이블 값 맞추기
+ * 예전(IDENTITY) 방식으로 이미 쌓인 글/댓글/회원이 있으면, 새로 발급할 번호가 기존 번호와 겹치지 않도록
+ * next_val 을 "기존 최대 id + 한 묶음(50) + 1" 이상으로 올려둔다. (없으면 행을 새로 만든다)
+ * EntityManagerFactory 를 주입받는 이유 : 테이블 생성(Flyway 마이그레이션, 테스트는 ddl-auto)이 끝난 뒤에 실행되도록
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void align() {
+        for (IdGenerators.Target target : IdGenerators.TARGETS) {
+            Long maxId = jdbcTemplate.queryForObject("select max(id) from " + target.table(), Long.class);
+            long required = (maxId == null ? 0 : maxId) + IdGenerators.ALLOCATION_SIZE + 1;
+
+            Long current = jdbcTemplate.query(
+                    "select " + IdGenerators.VALUE_COLUMN + " from " + IdGenerators.TABLE
+                            + " where " + IdGenerators.KEY_COLUMN + " = ?",
+                    rs -> rs.next() ? rs.getLong(1) : null,
+                    target.key());
+            if (current == null) {
+                jdbcTemplate.update("insert into " + IdGenerators.TABLE + " (" + IdGenerators.KEY_COLUMN + ", "
+                        + IdGenerators.VALUE_COLUMN + ") values (?, ?)", target.key(), required);
+            } else if (current < required) {
+                jdbcTemplate.update("update " + IdGenerators.TABLE + " set " + IdGenerators.VALUE_COLUMN
+                        + " = ? where " + IdGenerators.KEY_COLUMN + " = ?", required, target.key());
+                log.info("id 발급 테이블 보정: {} {} -> {}", target.key(), current, required);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.common.jpa;
+
+import java.util.List;
+
+/*
+ * 엔티티 id 발급용 테이블(id_generator) 설정
+ * | sequence_name | next_val |
+ * | post          | 1051     |  <- 다음에 받아갈 번호 묶음의 기준값
+ * 서버는 이 값을 한 번 올리면서(UPDATE) 번호 50개를 미리 받아두고, 50개를 다 쓸 때까지 DB에 묻지 않는다.
+ * >> INSERT 전에 id를 알 수 있으므로 Hibernate 가 INSERT 여러 개를 묶어서(batch) 한 번에 보낼 수 있다.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generator";
+    public static final String KEY_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50; // 한 번에 받아오는 번호 수 (hibernate.jdbc.batch_size 와 맞춤)
+
+    // 번호 종류(sequence_name) -> 그 번호를 쓰는 테이블
+    static final List<Target> TARGETS = List.of(
+            new Target("post", "post"),
+            new Target("comment", "comment"),
+            new Target("users", "users"));
+
+    private IdGenerators() {
+    }
+
+    record Target(String key, String table) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.common.jpa;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 시작할 때 주요 조회 쿼리의 실행 계획(EXPLAIN) 확인 (MySQL 에서만, app.schema.explain-check)
+ * 인덱스를 빠뜨리거나 쿼리를 바꿔서 인덱스를 못 타게 되면 데이터가 적은 개발 환경에서는 티가 안 나다가 운영에서 느려진다.
+ * >> 리포지토리 쿼리와 같은 모양의 SQL 을 EXPLAIN 해서 테이블 전체 읽기(type=ALL)나 정렬(Using filesort)이 있으면 경고 로그를 남긴다.
+ * - 값은 ? 로 두고 실제 파라미터와 같은 타입(Long, LocalDateTime, int)으로 넘긴다
+ *   >> 문자열로 비교하는 등 타입이 달라지면 MySQL 이 인덱스를 못 쓰는 계획을 보여줄 수 있어서
+ * - 행이 아주 적은 테이블은 MySQL 이 일부러 전체 읽기/정렬을 고르기도 해서, 예상 행 수가 min-rows 미만이면 경고하지 않는다
+ * - 쿼리를 추가/변경하면 여기 목록도 같이 고칠 것
+ */
+@Slf4j
+@Component
+public class QueryPlanChecker {
+
+    private static final String SUMMARY = "select p.id, p.title, u.nickname, p.comment_count " +
+            "from post p join users u on u.id = p.user_id where p.purging = false ";
+    private static final String COMMENT_VIEW = "select c.id, c.content, c.created_at, u.nickname, u.username, c.updated_at " +
+            "from comment c join users u on u.id = c.user_id where c.post_id = ? ";
+    private static final String OLDEST_FIRST = "order by c.created_at, c.id limit ?";
+
+    private static final int PAGE = 10;            // 목록 한 페이지
+    private static final int SLICE = PAGE + 1;     // Slice 는 다음 묶음 확인용으로 1개 더
+    private static final int COMMENT_SLICE = 51;   // app.comment.page-size(50) + 1
+    private static final Long ID = 1000L;
+    private static final Long USER_ID = 1L;
+
+    // 확인할 쿼리 (PostRepository / CommentRepository / UserRepository 의 쿼리와 같은 모양)
+    private static final List<PlannedQuery> QUERIES = List.of(
+            new PlannedQuery("PostRepository.findSummaries",
+                    SUMMARY + "order by p.id desc limit ?", PAGE),
+            new PlannedQuery("PostRepository.findSummariesBefore",
+                    SUMMARY + "and p.id < ? order by p.id desc limit ?", ID, SLICE),
+            new PlannedQuery("PostRepository.findSummariesByActivity",
+                    SUMMARY + "order by p.last_activity_at desc, p.id desc limit ?", PAGE),
+            new PlannedQuery("PostRepository.findSummariesByUserId",
+                    SUMMARY + "and u.id = ? order by p.id desc limit ?", USER_ID, PAGE),
+            new PlannedQuery("PostRepository.findSummariesByUserIdBefore",
+                    SUMMARY + "and u.id = ? and p.id < ? order by p.id desc limit ?", USER_ID, ID, SLICE),
+            new PlannedQuery("PostRepository.findDetailById",
+                    "select p.id, p.title, p.content, u.nickname, u.username " +
+                            "from post p join users u on u.id = p.user_id where p.purging = false and p.id = ?", ID),
+            new PlannedQuery("PostRepository.findIdsByFullText",
+                    "select id from post where purging = false " +
+                            "and match(title, content) against (? in boolean mode) order by id desc limit ? offset ?",
+                    "\"검색\"", PAGE, 0L),
+            new PlannedQuery("CommentRepository.findFirstViews",
+                    COMMENT_VIEW + OLDEST_FIRST, ID, COMMENT_SLICE),
+            new PlannedQuery("CommentRepository.findViewsAfter",
+                    COMMENT_VIEW + "and (c.created_at > ? or (c.created_at = ? and c.id > ?)) " + OLDEST_FIRST,
+                    ID, LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0), ID, COMMENT_SLICE),
+            new PlannedQuery("CommentRepository.countByPostId",
+                    "select count(*) from comment c where c.post_id = ?", ID),
+            new PlannedQuery("UserRepository.findByUsername",
+                    "select * from users u where u.username = ?", "user"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long minRows;
+
+    public QueryPlanChecker(JdbcTemplate jdbcTemplate,
+                            @Value("${app.schema.explain-check:false}") boolean enabled,
+                            @Value("${app.schema.explain-min-rows:1000}") long minRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.minRows = minRows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        if (!enabled || !isMySql()) {
+            return;
+        }
+        int warnings = 0;
+        for (PlannedQuery query : QUERIES) {
+            try {
+                warnings += explain(query);
+            } catch (DataAccessException e) {
+                // 확인용이므로 실패해도 서버 시작은 계속 (예: FULLTEXT 인덱스가 아직 없는 DB)
+                log.warn("EXPLAIN 실패 [{}]: {}", query.name(), e.getMostSpecificCause().getMessage());
+                warnings++;
+            }
+        }
+        if (warnings == 0) {
+            log.info("쿼리 실행 계획 확인 완료: {}개 모두 인덱스 사용", QUERIES.size());
+        }
+    }
+
+    // EXPLAIN 결과 한 줄 = 테이블 하나, type=ALL 이면 그 테이블을 처음부터 끝까지 읽고,
+    // Extra 에 Using filesort 가 있으면 인덱스 순서를 못 써서 조건에 맞는 행을 전부 읽은 뒤 다시 정렬한다
+    private int explain(PlannedQuery query) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + query.sql(), query.args());
+        int warnings = 0;
+        for (Map<String, Object> row : plan) {
+            Object type = row.get("type");
+            Object extra = row.get("Extra");
+            long rows = row.get("rows") instanceof Number number ? number.longValue() : 0;
+            boolean fullScan = "ALL".equals(type);
+            boolean fileSort = extra != null && extra.toString().contains("Using filesort");
+            if ((fullScan || fileSort) && rows >= minRows) {
+                log.warn("{} [{}] table={}, type={}, key={}, 예상 행 수={}, extra={} >> 인덱스 확인 필요",
+                        fullScan ? "전체 테이블 읽기" : "인덱스 없는 정렬",
+                        query.name(), row.get("table"), type, row.get("key"), rows, extra);
+                warnings++;
+            } else {
+                log.debug("실행 계획 [{}] table={}, type={}, key={}, rows={}, extra={}",
+                        query.name(), row.get("table"), type, row.get("key"), rows, extra);
+            }
+        }
+        return warnings;
+    }
+
+    private boolean isMySql() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            return product != null && product.toLowerCase().contains("mysql");
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // 이름(로그용), ? 가 들어간 SQL, ? 자리에 넣을 값 (실제 파라미터와 같은 타입)
+    private record PlannedQuery(String name, String sql, Object... args) {
+    }
+}
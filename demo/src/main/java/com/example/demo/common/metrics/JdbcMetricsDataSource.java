@@ -0,0 +1,78 @@
+package com.example.demo.common.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/*
+ * SQL 실행 횟수/시간을 재는 DataSource 껍데기
+ * 커넥션 풀(Hikari)을 감싸서, 커넥션이 만드는 Statement 의 execute* 호출 시간을 RequestStats 에 더한다.
+ * show-sql 처럼 SQL 문장을 콘솔에 찍지 않으므로 운영 환경에서도 부담이 거의 없다.
+ */
+public class JdbcMetricsDataSource extends DelegatingDataSource {
+
+    public JdbcMetricsDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    // Statement 를 만드는 메서드면 Statement 도 감싸기
+                    if (result instanceof CallableStatement statement) {
+                        return wrapStatement(statement, CallableStatement.class);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return wrapStatement(statement, PreparedStatement.class);
+                    }
+                    if (result instanceof Statement statement) {
+                        return wrapStatement(statement, Statement.class);
+                    }
+                    return result;
+                });
+    }
+
+    private static <T extends Statement> T wrapStatement(T statement, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                RequestStats.recordQuery(System.nanoTime() - start);
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    // 감싼 원래 객체의 메서드 호출 (예외는 원래 예외 그대로 던지기)
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
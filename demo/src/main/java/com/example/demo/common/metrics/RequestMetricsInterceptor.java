@@ -0,0 +1,84 @@
+package com.example.demo.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 컨트롤러 메서드(handler)별 요청 지표 기록
+ * - http.server.requests.queries : 요청 하나에 실행된 SQL 개수
+ * - http.server.requests.jdbc    : 요청 하나의 JDBC 실행 시간 합계
+ * - http.server.requests.render  : 화면(Thymeleaf) 그리는 시간 = 컨트롤러 끝(postHandle) ~ 응답 완료(afterCompletion)
+ * 비동기 요청(SSE 등)은 이 스레드에서 afterCompletion 이 불리지 않으므로 비동기 시작 시점에 RequestStats 정리
+ * 요청 전체 시간은 스프링이 기본으로 기록하는 http.server.requests 에 있다 (application.yml 에서 히스토그램 켜둠)
+ */
+@RequiredArgsConstructor
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String HANDLED_AT = RequestMetricsInterceptor.class.getName() + ".handledAt";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            RequestStats.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        request.setAttribute(HANDLED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStats.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        try {
+            String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            RequestStats stats = RequestStats.current();
+            if (stats != null) {
+                DistributionSummary.builder("http.server.requests.queries")
+                        .description("요청당 실행된 SQL 개수")
+                        .tag("handler", name)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(stats.getQueryCount());
+                Timer.builder("http.server.requests.jdbc")
+                        .description("요청당 JDBC 실행 시간 합계")
+                        .tag("handler", name)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (request.getAttribute(HANDLED_AT) instanceof Long handledAt) {
+                Timer.builder("http.server.requests.render")
+                        .description("화면 렌더링 시간")
+                        .tag("handler", name)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - handledAt, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            RequestStats.end();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.common.metrics;
+
+/*
+ * 요청 하나 동안 실행된 SQL 개수 / JDBC 시간을 모으는 상자
+ * 요청을 처리하는 스레드에 붙여두고(ThreadLocal) JdbcMetricsDataSource 가 쿼리마다 값을 더한다.
+ * 요청 밖(스케줄러, 서버 시작 시 색인 생성 등)에서 실행된 SQL 은 상자가 없으므로 세지 않는다.
+ */
+public final class RequestStats {
+
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+    private int queryCount;
+    private long jdbcNanos;
+
+    private RequestStats() {
+    }
+
+    // 요청 시작 시 호출
+    public static RequestStats begin() {
+        RequestStats stats = new RequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // 요청 끝나면 반드시 호출 (스레드가 재사용되므로)
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    // 지금 요청의 상자 (요청 밖이면 null)
+    public static RequestStats current() {
+        return CURRENT.get();
+    }
+
+    // SQL 한 번 실행할 때마다 호출
+    static void recordQuery(long nanos) {
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.queryCount++;
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+}
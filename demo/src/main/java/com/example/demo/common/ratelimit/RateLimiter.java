@@ -0,0 +1,69 @@
+package com.example.demo.common.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * 키(회원/IP)별 요청 수 제한 : 토큰 버킷 (최대 burst 개까지 몰아서 가능, 그 뒤로는 분당 perMinute 개)
+ * 토큰 개수 + 마지막 충전 시각을 따로 들고 있으면 둘을 같이 바꿔야 해서 잠금이 필요하다.
+ * >> 같은 동작을 "다음 요청이 허용되는 이론상 시각(TAT)" 숫자 하나로 계산한다 (GCRA)
+ *    - 요청 하나 = TAT 를 interval(= 1분 / perMinute) 만큼 뒤로 미루기
+ *    - 미룬 TAT 가 지금보다 burst * interval 넘게 앞서 있으면 버킷이 빈 것 >> 거절 (TAT 는 그대로)
+ *    - 숫자 하나라서 키마다 AtomicLong 의 CAS 로 잠금 없이 처리 (요청이 많아도 다른 키끼리는 경쟁하지 않음)
+ * 버킷이 다시 가득 찬 키(TAT 가 지난 키)는 RateLimiterCleaner 가 주기적으로 지운다 (지워도 가득 찬 새 버킷과 같음)
+ */
+public class RateLimiter {
+
+    private final String name;
+    private final long intervalNanos; // 토큰 1개가 다시 차는 시간
+    private final long burstNanos;    // 버킷 크기를 시간으로 (burst * interval)
+    private final LongSupplier clock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>(); // 키 -> TAT(nanoTime 기준)
+
+    public RateLimiter(String name, int burst, int perMinute) {
+        this(name, burst, perMinute, System::nanoTime);
+    }
+
+    RateLimiter(String name, int burst, int perMinute, LongSupplier clock) {
+        this.name = name;
+        this.intervalNanos = Duration.ofMinutes(1).toNanos() / perMinute;
+        this.burstNanos = intervalNanos * burst;
+        this.clock = clock;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // 허용이면 0, 거절이면 다음 요청이 허용될 때까지 남은 시간(나노초)
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(clock.getAsLong())); // TAT=지금 : 가득 찬 버킷
+        while (true) {
+            long now = clock.getAsLong();
+            long tat = bucket.get();
+            long next = (tat - now > 0 ? tat : now) + intervalNanos; // nanoTime 은 빼서 비교
+            long ahead = next - now; // 지금까지 쓴 만큼 (버킷에서 빠진 토큰 x interval)
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+            // 다른 요청이 먼저 바꿨으면 새 값으로 다시 계산
+        }
+    }
+
+    // 버킷이 다시 가득 찬 키 정리 (메모리 회수)
+    // 지우는 순간 같은 키의 요청이 겹치면 그 요청 1번은 기록되지 않을 수 있다 (잠금을 쓰지 않는 대신 감수)
+    public void removeIdle() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.common.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 버킷이 가득 찬(한동안 요청이 없던) 회원/IP 를 주기적으로 지우기 (메모리 회수)
+@Component
+@RequiredArgsConstructor
+public class RateLimiterCleaner {
+
+    private final ObjectProvider<RateLimiter> rateLimiters; // 빈으로 등록된 모든 RateLimiter (제한을 끄면 없음)
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval-ms:60000}")
+    public void removeIdle() {
+        rateLimiters.forEach(RateLimiter::removeIdle);
+    }
+}
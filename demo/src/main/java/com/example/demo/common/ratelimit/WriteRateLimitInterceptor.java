@@ -0,0 +1,76 @@
+package com.example.demo.common.ratelimit;
+
+import com.example.demo.user.domain.CustomUserDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 글/댓글 작성(POST) 요청 수 제한
+ * 한 사용자(또는 한 IP)가 글/댓글을 끝없이 써서 INSERT 와 뒤따르는 작업(댓글 수/색인/캐시 무효화 등)으로
+ * DB 를 가득 채우면 다른 사용자까지 느려지므로, 컨트롤러에 들어가기 전에 거절한다.
+ * - IP 별 제한 먼저, 그 다음 로그인 회원별 제한 (둘 다 통과해야 함)
+ * - 거절 : 429 Too Many Requests + Retry-After(초), 지표 write.rate.limit.rejected{limit=ip|user}
+ * - IP 는 request.getRemoteAddr() (프록시 뒤라면 server.forward-headers-strategy 설정 필요)
+ */
+public class WriteRateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter ipLimiter;
+    private final RateLimiter userLimiter;
+    private final Counter ipRejected;
+    private final Counter userRejected;
+
+    public WriteRateLimitInterceptor(RateLimiter ipLimiter, RateLimiter userLimiter, MeterRegistry meterRegistry) {
+        this.ipLimiter = ipLimiter;
+        this.userLimiter = userLimiter;
+        this.ipRejected = rejectedCounter(meterRegistry, "ip");
+        this.userRejected = rejectedCounter(meterRegistry, "user");
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String limit) {
+        return Counter.builder("write.rate.limit.rejected")
+                .description("요청 수 제한으로 거절된 글/댓글 작성 요청 수")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!"POST".equals(request.getMethod())) {
+            return true; // 글쓰기 폼(GET) 등은 제한하지 않음
+        }
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            ipRejected.increment();
+            reject(response, waitNanos);
+            return false;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            waitNanos = userLimiter.tryAcquire(String.valueOf(user.getId()));
+            if (waitNanos > 0) {
+                userRejected.increment();
+                reject(response, waitNanos);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("글/댓글을 너무 자주 작성했습니다. " + retryAfterSeconds + "초 후에 다시 시도해 주세요.");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.common.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+/*
+ * 조건부 GET (ETag / Last-Modified) 도우미
+ * 브라우저가 예전에 받은 ETag 를 If-None-Match 로 보내오면, 내용이 그대로일 때 화면을 그리지 않고 304(본문 없음)로 답한다.
+ * - version : 화면 내용이 바뀌면 같이 바뀌는 값 (게시글 수정 시각, 목록 버전 번호 등) >> DB 전체 조회보다 훨씬 싸게 구한다
+ * - 화면에는 로그인 사용자 정보(닉네임, 수정/삭제 버튼)와 세션의 CSRF 토큰이 들어가므로 사용자/세션도 ETag 에 섞는다
+ * - Cache-Control: private, no-cache >> 브라우저는 저장하되 매번 서버에 확인(재검증)하고, 공유 캐시(프록시)는 저장하지 않음
+ *   (Spring Security 는 기본으로 no-store 를 붙여서 브라우저가 아예 저장하지 않으므로 여기서 직접 지정)
+ * 304 를 몇 번 돌려줬는지 http.server.conditional 지표(page, result 태그)로 센다
+ */
+@Component
+public class ConditionalGetSupport {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final MeterRegistry meterRegistry;
+
+    public ConditionalGetSupport(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // true 면 304 응답이 이미 준비된 것이므로 컨트롤러는 화면을 그리지 말고 null 을 반환
+    public boolean notModified(NativeWebRequest request, String page, String version, long lastModifiedMillis) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        String key = version + '|' + request.getRemoteUser() + '|' + request.getSessionId();
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + '"';
+        boolean notModified = lastModifiedMillis > 0
+                ? request.checkNotModified(etag, lastModifiedMillis)
+                : request.checkNotModified(etag);
+        counter(page, notModified ? "not_modified" : "modified").increment();
+        return notModified;
+    }
+
+    private Counter counter(String page, String result) {
+        return Counter.builder("http.server.conditional")
+                .description("Conditional GET results (304 = not_modified)")
+                .tag("page", page)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
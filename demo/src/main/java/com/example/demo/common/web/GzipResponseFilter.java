@@ -0,0 +1,95 @@
+package com.example.demo.common.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * HTML 응답 gzip 압축
+ * 화면을 다 그린 HTML 을 메모리에 모았다가(ContentCachingResponseWrapper) min-size 바이트 이상이면 gzip 으로 줄여 보낸다.
+ * Tomcat 의 server.compression 대신 직접 하는 이유 : 압축 전/후 크기를 지표로 남기기 위해
+ *   http.server.compression.original : 압축 대상 HTML 원래 크기 합계
+ *   http.server.compression.saved    : 압축으로 줄어든 바이트 합계
+ * - 브라우저가 Accept-Encoding: gzip 을 보낸 GET 요청만
+ * - 응답 전체를 모으므로 큰 파일 다운로드/스트리밍 경로는 excludedPaths 로 제외 (내보내기 등)
+ * - SSE(Accept: text/event-stream) 는 모으면 끝날 때까지 아무것도 안 가므로 제외 (실시간 댓글)
+ */
+public class GzipResponseFilter extends OncePerRequestFilter {
+
+    private final int minSize;
+    private final List<String> excludedPaths;
+    private final Counter originalBytes;
+    private final Counter savedBytes;
+
+    public GzipResponseFilter(int minSize, List<String> excludedPaths, MeterRegistry meterRegistry) {
+        this.minSize = minSize;
+        this.excludedPaths = excludedPaths;
+        this.originalBytes = Counter.builder("http.server.compression.original").baseUnit("bytes")
+                .description("Size of compressed HTML responses before compression").register(meterRegistry);
+        this.savedBytes = Counter.builder("http.server.compression.saved").baseUnit("bytes")
+                .description("Bytes saved by gzip compression of HTML responses").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accept == null || !accept.contains("gzip")) {
+            return true;
+        }
+        String acceptType = request.getHeader(HttpHeaders.ACCEPT);
+        if (acceptType != null && acceptType.contains(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && body.length >= minSize
+                && contentType != null && contentType.startsWith("text/html")
+                && !wrapper.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            byte[] compressed = gzip(body);
+            if (compressed.length < body.length) {
+                wrapper.resetBuffer(); // 모아둔 원본은 버리고
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                response.setContentLength(compressed.length);
+                response.getOutputStream().write(compressed);
+                originalBytes.increment(body.length);
+                savedBytes.increment(body.length - compressed.length);
+                return;
+            }
+        }
+        wrapper.copyBodyToResponse(); // 압축하지 않는 응답은 그대로
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
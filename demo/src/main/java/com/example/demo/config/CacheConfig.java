@@ -0,0 +1,69 @@
+package com.example.demo.config;
+
+import com.example.demo.comment.dto.CommentPage;
+import com.example.demo.common.cache.LruTtlCache;
+import com.example.demo.common.cache.LruTtlCacheMetrics;
+import com.example.demo.post.dto.PostDetailDto;
+import com.example.demo.post.view.CommentFragments;
+import com.example.demo.user.dto.UserAuthDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// 메모리 캐시 설정 (크기/유효시간은 application.yml 의 app.cache.* 로 조정)
+@Configuration
+public class CacheConfig {
+
+    // 게시글 번호 -> 게시글 본문(상세화면용 DTO)
+    @Bean
+    public LruTtlCache<Long, PostDetailDto> postDetailCache(
+            @Value("${app.cache.post-detail.max-size:1000}") int maxSize,
+            @Value("${app.cache.post-detail.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        return register(new LruTtlCache<>("postDetail", maxSize, ttl), meterRegistry);
+    }
+
+    // 게시글 번호 -> 그 게시글의 댓글 첫 묶음 (상세화면에 처음 보이는 page-size 개)
+    @Bean
+    public LruTtlCache<Long, CommentPage> commentListCache(
+            @Value("${app.cache.comments.max-size:1000}") int maxSize,
+            @Value("${app.cache.comments.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        return register(new LruTtlCache<>("comments", maxSize, ttl), meterRegistry);
+    }
+
+    // 목록 버전 + 정렬/페이지 -> 미리 그려둔 목록 표의 행들(HTML)
+    @Bean
+    public LruTtlCache<String, String> postRowsFragmentCache(
+            @Value("${app.cache.post-rows-fragment.max-size:200}") int maxSize,
+            @Value("${app.cache.post-rows-fragment.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        return register(new LruTtlCache<>("postRowsFragment", maxSize, ttl), meterRegistry);
+    }
+
+    // 게시글 번호 -> 미리 그려둔 댓글들(HTML)
+    @Bean
+    public LruTtlCache<Long, CommentFragments> commentFragmentCache(
+            @Value("${app.cache.comment-fragment.max-size:1000}") int maxSize,
+            @Value("${app.cache.comment-fragment.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        return register(new LruTtlCache<>("commentFragment", maxSize, ttl), meterRegistry);
+    }
+
+    // 아이디(username) -> 로그인용 회원 정보 (로그인 시 회원 조회를 매번 DB에서 하지 않도록, 엔티티가 아닌 복사본)
+    @Bean
+    public LruTtlCache<String, UserAuthDto> userCache(
+            @Value("${app.cache.users.max-size:10000}") int maxSize,
+            @Value("${app.cache.users.ttl:30m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        return register(new LruTtlCache<>("users", maxSize, ttl), meterRegistry);
+    }
+
+    private <K, V> LruTtlCache<K, V> register(LruTtlCache<K, V> cache, MeterRegistry meterRegistry) {
+        new LruTtlCacheMetrics(cache).bindTo(meterRegistry);
+        return cache;
+    }
+}
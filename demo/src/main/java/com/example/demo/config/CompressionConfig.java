@@ -0,0 +1,29 @@
+package com.example.demo.config;
+
+import com.example.demo.common.web.GzipResponseFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/*
+ * HTML 응답 압축 필터 등록
+ * 순서는 기본값(가장 나중) >> Spring Security 필터 안쪽에서 실행되어 보안 헤더는 그대로 붙는다
+ */
+@Configuration
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<GzipResponseFilter> gzipResponseFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.compression.min-size:2048}") int minSize,
+            @Value("${app.compression.excluded-paths:/posts/export}") List<String> excludedPaths) {
+        FilterRegistrationBean<GzipResponseFilter> registration =
+                new FilterRegistrationBean<>(new GzipResponseFilter(minSize, excludedPaths, meterRegistry));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
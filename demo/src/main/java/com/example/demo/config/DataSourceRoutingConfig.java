@@ -0,0 +1,73 @@
+package com.example.demo.config;
+
+import com.example.demo.common.datasource.ReadWriteRoutingDataSource;
+import com.example.demo.common.datasource.ReadYourWritesInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+ * 주 DB(primary) / 읽기 전용 복제 DB(replica) 나눠 쓰기
+ * app.datasource.replica.url 이 있을 때만 켜진다 (없으면 spring.datasource 하나만 쓰는 기존 방식)
+ * - primaryDataSource : spring.datasource.* (쓰기 + 트랜잭션 밖 + 최근에 쓴 사용자의 읽기)
+ * - replicaDataSource : app.datasource.replica.* (@Transactional(readOnly = true))
+ * - dataSource(@Primary) : JPA/JdbcTemplate/Flyway 가 쓰는 DataSource, 첫 SQL 때 둘 중 하나를 고른다
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class DataSourceRoutingConfig implements WebMvcConfigurer {
+
+    @Value("${app.datasource.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow; // 쓰기 후 이 시간 동안은 그 사용자의 읽기를 primary 에서 (복제 지연보다 길게)
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // autowireCandidate = false : spring.datasource 용 DataSourceProperties 와 헷갈리지 않게 (여기서만 직접 사용)
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true); // 실수로 쓰기가 오면 DB 가 거절하도록
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesWindow));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.config;
+
+import com.example.demo.common.metrics.JdbcMetricsDataSource;
+import com.example.demo.common.metrics.RequestMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/*
+ * 요청 단위 지표 설정
+ * - 모든 컨트롤러 요청에 RequestMetricsInterceptor 적용 (SQL 개수, JDBC 시간, 렌더링 시간)
+ * - DataSource 를 JdbcMetricsDataSource 로 감싸서 SQL 실행을 센다
+ * 지표는 관리 포트(127.0.0.1:8081)의 /actuator/prometheus 에서 Prometheus 형식으로 확인
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry));
+    }
+
+    // static : 다른 빈보다 먼저 만들어져야 DataSource 생성 시점에 감쌀 수 있다
+    // 커넥션 풀만 감싼다 : 풀을 고르기만 하는 DataSource(primary/replica 라우팅, 지연 프록시)까지 감싸면 SQL 이 두 번 세어짐
+    @Bean
+    public static BeanPostProcessor jdbcMetricsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    return new JdbcMetricsDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.config;
+
+import com.example.demo.common.ratelimit.RateLimiter;
+import com.example.demo.common.ratelimit.WriteRateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// 글/댓글 작성 요청 수 제한 (크기/속도는 application.yml 의 app.rate-limit.* 로 조정, enabled=false 로 끄기)
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rate-limit.enabled", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.ip.burst:30}")
+    private int ipBurst;
+    @Value("${app.rate-limit.ip.per-minute:120}")
+    private int ipPerMinute;
+    @Value("${app.rate-limit.user.burst:10}")
+    private int userBurst;
+    @Value("${app.rate-limit.user.per-minute:30}")
+    private int userPerMinute;
+
+    // IP 하나 : 같은 공유기/회사 네트워크 뒤의 여러 사람이 같이 쓰므로 회원별보다 넉넉하게
+    @Bean
+    public RateLimiter ipWriteRateLimiter() {
+        return new RateLimiter("ip", ipBurst, ipPerMinute);
+    }
+
+    // 로그인 회원 하나
+    @Bean
+    public RateLimiter userWriteRateLimiter() {
+        return new RateLimiter("user", userBurst, userPerMinute);
+    }
+
+    // 글 작성(POST /posts), 댓글 작성(POST /comments) 에만 적용
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new WriteRateLimitInterceptor(ipWriteRateLimiter(), userWriteRateLimiter(), meterRegistry))
+                .addPathPatterns("/posts", "/comments");
+    }
+}
@@ -1,25 +1,61 @@
 package com.example.demo.config;
 // 비밀번호 암호화 하기 위한 작업
 
+import com.example.demo.user.security.BoundedPasswordEncoder;
+import com.example.demo.user.security.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 //필터체인으로 보안규칙 구성
-import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-
+import org.springframework.security.web.SecurityFilterChain;
 //비밀번호 해시화를 위한 BCrypt구현, 패스엔코더 인터페이스
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+//로그인 실패 처리
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Configuration //스프링설정 클래스임을 표시하는것(컴포넌트 스캔 대상)
 
 public class SecurityConfig {
 
     @Bean//빈등록 : 회원가입시 비밀번호 해시,로그인 시 검증에 사용
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();//BCrypt는 강도가 적절하고 보편적으로 사용된다고 한다.
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength,
+                                           @Value("${app.security.bcrypt.threads:0}") int threads,
+                                           @Value("${app.security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                           MeterRegistry meterRegistry){
+        //BCrypt는 강도가 적절하고 보편적으로 사용된다고 한다.
+        //strength(cost) : 1 올릴 때마다 해시 시간이 2배 (기본 10), application.yml 에서 조정
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        //BCrypt 전용 스레드풀 : 동시에 해시하는 개수 = 스레드 수(기본: CPU 코어 수), 대기열이 차면 바로 거절
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        //시작할 때 현재 강도로 한 번 해시해보고 처리량을 로그로 남긴다 >> 강도를 정할 때 참고
+        long start = System.nanoTime();
+        bcrypt.encode("calibration");
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("BCrypt strength={} : 1회 {}ms, 스레드 {}개 기준 최대 약 {}회/초 (대기열 {})",
+                strength, millis, poolSize, poolSize * 1000 / millis, queueCapacity);
+
+        return new BoundedPasswordEncoder(bcrypt,
+                ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing"), meterRegistry);
     }
 
     @Bean//보안 규칙 담는 필터체인
@@ -30,11 +66,16 @@ public class SecurityConfig {
                 //permitAll() 대상은 로그인 없이 접근 가능, 그외에는 인증 필요
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/", "/user/signup", "/css/**", "/js/**").permitAll()
+                        // 헬스체크/Prometheus 수집은 관리 포트(127.0.0.1)로만 들어오므로 로그인 없이 허용
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                        // 전체 게시글/댓글 내보내기는 DB 를 처음부터 끝까지 읽으므로 관리자(app.admin.usernames)만
+                        .requestMatchers("/posts/export").hasRole("ADMIN")
                         .anyRequest().authenticated())
 
         //로그인 설정
         .formLogin(form -> form //formLogin : 스프링 시큐리티 내장 로그인처리 사용하기
                 .loginPage("/user/login")         // 로그인 페이지 URL
+                        .failureHandler(loginFailureHandler()) // 로그인 실패 시 처리
                         .defaultSuccessUrl("/",true)
                         //.defaultSuccessUrl("/",true) : true => 사용자가 어디서 왔던 무조건 "/"로 리다이렉트
                         .permitAll()
@@ -49,5 +90,20 @@ public class SecurityConfig {
         return http.build(); //http.build호출로 최종 시큐리티필터체인을 생성하여 빈으로 노출
     }
 
+    //로그인 실패 처리 : 비밀번호 해시 대기열이 가득 찬 경우만 503, 나머지는 기존처럼 /user/login?error
+    private AuthenticationFailureHandler loginFailureHandler(){
+        SimpleUrlAuthenticationFailureHandler defaultHandler = new SimpleUrlAuthenticationFailureHandler("/user/login?error");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingBusyException) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingBusyException.RETRY_AFTER_SECONDS));
+                response.setContentType("text/plain;charset=UTF-8");
+                response.getWriter().write(exception.getMessage());
+                return;
+            }
+            defaultHandler.onAuthenticationFailure(request, response, exception);
+        };
+    }
+
 
 }
@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/*
+ * 가상 스레드 pinning 감시 (spring.threads.virtual.enabled=true 일 때만 동작)
+ * 가상 스레드가 synchronized 블록 안에서 I/O를 기다리면 캐리어(플랫폼) 스레드까지 같이 묶여버려서(pinning)
+ * 가상 스레드를 쓰는 의미가 없어진다. JDBC 드라이버/커넥션 풀 안쪽에서 주로 생긴다.
+ * >> JFR 의 jdk.VirtualThreadPinned 이벤트를 받아서 어디서 묶였는지 로그와 지표로 남긴다
+ *    (jvm.threads.virtual.pinned{frame=클래스명})
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.virtual-threads.pinned-threshold:20ms}")
+    private Duration threshold; // 이 시간 이상 묶인 경우만 기록
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", event -> {
+            String frame = firstNonJdkFrame(event.getStackTrace());
+            Counter.builder("jvm.threads.virtual.pinned")
+                    .description("캐리어 스레드에 묶인(pinned) 가상 스레드 횟수")
+                    .tag("frame", frame)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("가상 스레드 pinning {}ms : {}", event.getDuration().toMillis(), frame);
+        });
+        stream.startAsync();
+        log.info("가상 스레드 모드 : pinning 감시 시작 (기준 {}ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    // 스택에서 JDK 내부가 아닌 첫 번째 클래스 (ex. com.mysql.cj.protocol.a.NativeProtocol) >> 원인 위치
+    private String firstNonJdkFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String className = frame.getMethod().getType().getName();
+            if (!className.startsWith("java.") && !className.startsWith("jdk.") && !className.startsWith("sun.")) {
+                return className;
+            }
+        }
+        return "jdk";
+    }
+}
@@ -1,21 +1,34 @@
 package com.example.demo.post.controller;
 
-import com.example.demo.comment.domain.Comment;
+import com.example.demo.comment.dto.CommentPage;
+import com.example.demo.comment.dto.CommentViewDto;
 import com.example.demo.comment.service.CommentService;
+import com.example.demo.common.web.ConditionalGetSupport;
 import com.example.demo.post.domain.Post;
+import com.example.demo.post.dto.PostDetailDto;
+import com.example.demo.post.dto.PostSummaryDto;
+import com.example.demo.post.ranking.PostRankingService;
+import com.example.demo.post.service.PostListVersion;
 import com.example.demo.post.service.PostService;
-import com.example.demo.user.domain.User;
+import com.example.demo.post.service.ViewCountService;
+import com.example.demo.post.view.PostFragmentRenderer;
+import com.example.demo.user.domain.CustomUserDetails;
 import com.example.demo.user.repository.UserRepository; // User조회하기 위한 Repository
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable; // ✅ 올바른 Pageable import
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
-import java.security.Principal; // 로그인한 사용자 정보를 가져오는 객체
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +47,15 @@ public class PostController {
     //DB 작업은 Service가 담당하므로 Service를 호출해서 사용하겠다!
     private final UserRepository userRepository; //DB에서 User를 찾기위해 필요함
     private final CommentService commentService; //댓글DB연동
+    private final ViewCountService viewCountService; //조회수 (메모리에 모았다가 주기적으로 DB 반영)
+    private final PostRankingService postRankingService; //인기글 점수 (조회하면 올라감)
+    private final ConditionalGetSupport conditionalGet; //ETag 비교 >> 그대로면 화면을 그리지 않고 304
+    private final PostListVersion postListVersion; //목록 ETag 용 버전 번호
+    private final PostFragmentRenderer fragmentRenderer; //목록 행/댓글을 미리 그려둔 HTML 조각
+
+    // 페이지 번호 버튼은 앞쪽 10페이지까지만 보여주고, 그 뒤는 커서(after) 방식으로 이어서 보기
+    // >> OFFSET 페이징은 뒤 페이지로 갈수록 느려지기 때문
+    private static final int PAGE_LINK_LIMIT = 10;
 
     //게시글 작성 페이지 열기
     @GetMapping("/new")  // 👉 GET 방식 요청의"/posts/new" 처리 (글쓰기 폼 열기)
@@ -45,33 +67,85 @@ public class PostController {
     @PostMapping     // 👉 POST 방식 요청 "/posts" 처리 (글 저장) , 글쓰기 폼 제출시 실행
     public String create(@RequestParam String title, //글 제목을 form에서 받아옴
                          @RequestParam String content, // 글 내용을 form에서 받아옴
-                         Principal principal){ // 현재 로그인한 사용자 정보(Principal)를 받아오기
-        //1. 현재 로그인한 사용자의 username 가져오기
-        String username = principal.getName();
-        //principal.getName() >> 로그인 할 때 입력한 username 값
-
-        //2. DB에서 User 엔티티 조회(username으로 찾기)
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
-        postService.createPost(title,content,user);//저장기능
+                         @AuthenticationPrincipal CustomUserDetails loginUser){ // 현재 로그인한 사용자 정보 받아오기
+        //1. 로그인할 때 세션에 저장된 CustomUserDetails 에서 회원 id 꺼내기
+        //>> 예전처럼 username으로 users 테이블을 다시 SELECT 하지 않는다
+
+        //2. getReferenceById : SELECT 없이 id만 가진 User 프록시를 만든다 (게시글의 user_id FK 값으로만 사용)
+        postService.createPost(title,content,userRepository.getReferenceById(loginUser.getId()));//저장기능
         return "redirect:/posts";
     }
 
     // 게시글 조회하는 메서드, 게시글 상세페이지
     @GetMapping("/{id}") // /posts/{id} 요청을 처리 (게시글 id)
-    public String detail(@PathVariable Long id, Model model){
+    public String detail(@PathVariable Long id, Model model, NativeWebRequest webRequest){
         //@PathVariable = URL 경로의 {id} 값을 id 변수에 담아줌
         // Model : 조회한 게시글 데이터를 뷰(detail.html)에 전달하는 객체
-        Post post = postService.findPostById(id)
+        //상세화면용 DTO (캐시에 있으면 DB 조회 없음)
+        PostDetailDto post = postService.getPostDetail(id)
                 .orElseThrow(() -> new IllegalArgumentException("게시글 없음"));
-        model.addAttribute("post",post);
+        //게시글 상세페이지에 댓글 첫 묶음만 불러오기 (캐시), 나머지는 "댓글 더 보기"(comments 메서드)로
+        CommentPage commentPage = commentService.getFirstComments(id);
+        List<CommentViewDto> comments = commentPage.comments();
+
+        //조회수 +1 (DB에 바로 쓰지 않음), 304 응답도 조회 1번으로 센다
+        viewCountService.increment(id);
+        postRankingService.recordView(id, post.getTitle());
 
-        //게시글 상세페이지에 댓글들 불러오기
-        List<Comment> comments= commentService.getCommentsByPost(id);
-        model.addAttribute("comments",comments);
+        //게시글 수정 시각 + 첫 묶음 댓글(개수, 마지막 댓글, 마지막 작성/수정 시각, 뒤에 더 있는지)이 그대로면
+        //브라우저에 있는 화면을 그대로 쓰게 한다 (304), 첫 묶음 뒤의 댓글은 화면에 없으므로 버전에 넣지 않음
+        //(조회수는 ETag 에 넣지 않음 >> 304 일 때는 브라우저가 예전에 받은 조회수가 보인다)
+        LocalDateTime lastModified = latestChange(post, comments);
+        CommentViewDto lastComment = commentPage.last();
+        String version = post.getId() + ":" + lastModified + ":" + comments.size() + ":"
+                + (lastComment == null ? "" : lastComment.getId()) + ":" + commentPage.hasNext();
+        if (conditionalGet.notModified(webRequest, "post.detail", version, toEpochMillis(lastModified))) {
+            return null; // 화면 렌더링 없이 304
+        }
+
+        model.addAttribute("post",post);
+        //화면에는 DB에 반영된 조회수 + 아직 안 쓴 값
+        model.addAttribute("viewCount", post.getViewCount() + viewCountService.pending(id));
+        //댓글은 미리 그려둔 HTML 조각으로 (수정/삭제 버튼만 detail.html 에서 로그인 사용자와 비교해 그림)
+        model.addAttribute("comments", fragmentRenderer.comments(id, version, comments));
+        addMoreCommentsAttributes(model, id, commentPage);
         return "post/detail";
     }
 
+    //댓글 더 보기 : (after, afterId) 댓글 다음 묶음을 HTML 조각으로 (detail.html 의 버튼이 fetch 로 불러서 붙임)
+    @GetMapping("/{id}/comments")
+    public String comments(@PathVariable Long id,
+                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+                           @RequestParam Long afterId,
+                           Model model){
+        CommentPage commentPage = commentService.getCommentsAfter(id, after, afterId);
+        model.addAttribute("comments", fragmentRenderer.renderComments(commentPage.comments()));
+        addMoreCommentsAttributes(model, id, commentPage);
+        return "post/comments :: batch";
+    }
+
+    //다음 묶음이 있으면 "댓글 더 보기" 버튼에 넣을 커서(마지막 댓글의 작성일시, id)
+    private void addMoreCommentsAttributes(Model model, Long postId, CommentPage commentPage){
+        model.addAttribute("postId", postId);
+        model.addAttribute("nextComment", commentPage.hasNext() ? commentPage.last() : null);
+    }
+
+    //게시글/댓글 중 가장 마지막으로 바뀐 시각 (Last-Modified)
+    private LocalDateTime latestChange(PostDetailDto post, List<CommentViewDto> comments){
+        LocalDateTime latest = post.getUpdatedAt() != null ? post.getUpdatedAt() : post.getCreatedAt();
+        for (CommentViewDto comment : comments) {
+            LocalDateTime changed = comment.getUpdatedAt() != null ? comment.getUpdatedAt() : comment.getCreatedAt();
+            if (changed != null && (latest == null || changed.isAfter(latest))) {
+                latest = changed;
+            }
+        }
+        return latest;
+    }
+
+    private long toEpochMillis(LocalDateTime time){
+        return time == null ? -1 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
 
     // 수정 폼 열기 (GET 요청)
     @GetMapping("/{id}/edit")
@@ -112,7 +186,37 @@ public class PostController {
     @GetMapping  // Get 방식 "/posts" 요청 처리
     public String list(@RequestParam(defaultValue = "0") int page,   // 현재 페이지 번호 (기본값=0, 즉 첫 페이지)
                        @RequestParam(defaultValue = "10") int size,  // 한 페이지에 보여줄 글 수 (기본값=10)
-                       Model model) {                                // 뷰(HTML)에 데이터 전달하기 위한 객체
+                       @RequestParam(required = false) Long after,   // 커서 모드: 이전 묶음의 마지막 글 번호
+                       @RequestParam(defaultValue = "latest") String sort, // 정렬: latest(최신순) | activity(최근 활동순)
+                       Model model,                                  // 뷰(HTML)에 데이터 전달하기 위한 객체
+                       NativeWebRequest webRequest) {                // ETag 비교용
+        // 목록이 바뀌는 쓰기가 없었으면(목록 버전 번호가 그대로면) DB 조회/렌더링 없이 304
+        // (페이지/정렬이 다르면 URL 이 달라서 브라우저가 따로 저장하므로 버전 번호만 비교하면 된다)
+        String listVersion = postListVersion.current(); // DB 조회 전에 읽기 (조회 중에 바뀌면 다음 버전에서 다시 그림)
+        if (conditionalGet.notModified(webRequest, "post.list", listVersion, -1)) {
+            return null;
+        }
+        model.addAttribute("sort", sort);
+
+        // 최근 활동순 : 댓글 수/최근 활동 시각이 게시글 행에 저장돼 있어서 댓글 테이블을 보지 않고 정렬
+        if ("activity".equals(sort)) {
+            Page<PostSummaryDto> postPage = postService.findAllByActivity(PageRequest.of(page, size));
+            model.addAttribute("postPage", postPage);
+            model.addAttribute("posts", postPage.getContent());
+            model.addAttribute("currentPage", page);
+            model.addAttribute("totalPages", postPage.getTotalPages());
+            addPageLinkAttributes(model, postPage, size);
+            addPostRows(model, listVersion + "|activity:" + page + ":" + size, postPage.getContent());
+            return "post/list";
+        }
+
+        // 0. after 값이 있으면 커서 모드 >> WHERE id < after 로 바로 이어서 조회 (OFFSET, COUNT 없음)
+        if (after != null) {
+            Slice<PostSummaryDto> postSlice = postService.findAllAfter(after, size);
+            addCursorAttributes(model, postSlice, size);
+            addPostRows(model, listVersion + "|after:" + after + ":" + size, postSlice.getContent());
+            return "post/list";
+        }
 
         // 1. Pageable 객체 생성
         // PageRequest.of(페이지번호, 글 수, 정렬방식)
@@ -121,13 +225,15 @@ public class PostController {
 
         // 2. 서비스 호출 → DB에서 페이징된 게시글 목록 가져오기
         // postService.findAllWithPaging(pageable) → Page<Post> 객체 반환
-        Page<Post> postPage = postService.findAllWithPaging(pageable);
+        Page<PostSummaryDto> postPage = postService.findAllWithPaging(pageable);
 
         // 3. 뷰에 데이터 전달 (model 사용)
         model.addAttribute("postPage", postPage);           // 전체 Page<Post> 객체 전달 (총 페이지 수, 현재 페이지 등 부가정보 포함)
         model.addAttribute("posts", postPage.getContent()); // 실제 게시글 리스트(List<Post>)만 추출해서 전달
         model.addAttribute("currentPage", page);            // 현재 페이지 번호를 따로 전달
         model.addAttribute("totalPages", postPage.getTotalPages()); // 전체 페이지 개수 전달
+        addPageLinkAttributes(model, postPage, size);
+        addPostRows(model, listVersion + "|latest:" + page + ":" + size, postPage.getContent());
 
         // 4. 반환
         // "post/list" → templates/post/list.html 뷰 파일을 찾아서 렌더링
@@ -140,13 +246,29 @@ public class PostController {
                               @RequestParam("keyword") String keyword, // 검색어
                               @RequestParam(defaultValue = "0")int page,
                               @RequestParam(defaultValue = "10")int size,// 한 페이지당 보여줄 게시글 수 (기본값 10)
+                              @RequestParam(required = false) Long after, // 커서 모드: 이전 묶음의 마지막 글 번호
                               Model model){ // html에 데이터 전달하는 객체
+        model.addAttribute("selectedType", type);               // 검색 기준 (select 박스 유지용)
+        model.addAttribute("keyword", keyword);                 // 검색어 (검색창에 값 유지용)
+
+        //커서 모드 검색 (제목+내용 검색은 점수순이라 글 번호 커서로 이어갈 수 없으므로 항상 페이지 번호로)
+        if (after != null && !"titleContent".equals(type)) {
+            Slice<PostSummaryDto> postSlice;
+            try {
+                postSlice = searchAfter(type, keyword.trim(), after, size);
+            } catch (NumberFormatException nfe) {
+                postSlice = Page.empty();
+                model.addAttribute("message", "숫자만 입력하세요.");
+            }
+            addCursorAttributes(model, postSlice, size);
+            return "post/list";
+        }
 
         //페이징 객체 생성하기
         //PageRequest.of(현재페이지,페이지당 게시글 수, 정렬기준)
         Pageable pageable = PageRequest.of(page,size,Sort.by("id").descending());
-        //검색 결과를 담을 Page<Post> 객체 선언하기
-        Page<Post> postPage;
+        //검색 결과를 담을 Page 객체 선언하기
+        Page<PostSummaryDto> postPage;
 
         try{
             //검색기준 에 따라 메서드 골라 실행하기
@@ -177,11 +299,52 @@ public class PostController {
         model.addAttribute("posts", postPage.getContent());     // 현재 페이지의 게시글 목록만 전달 (List<Post>)
         model.addAttribute("currentPage", page);                // 현재 페이지 번호
         model.addAttribute("totalPages", postPage.getTotalPages()); // 전체 페이지 수
-        model.addAttribute("selectedType", type);               // 검색 기준 (select 박스 유지용)
-        model.addAttribute("keyword", keyword);                 // 검색어 (검색창에 값 유지용)
+        addPageLinkAttributes(model, postPage, size);
 
         return "post/list"; // 검색결과를 다시 게시글 목록페이지에 보여주기
     }
+
+    //목록 표의 행들을 미리 그려둔 HTML 로 (같은 버전 + 같은 페이지면 다시 그리지 않음)
+    //검색 결과는 검색어마다 달라 다시 쓰일 일이 적으므로 캐시하지 않고 list.html 에서 바로 그린다
+    private void addPostRows(Model model, String key, List<PostSummaryDto> posts){
+        model.addAttribute("postRows", fragmentRenderer.postRows(key, posts));
+    }
+
+    //커서 모드 검색 : 검색기준에 따라 after 보다 작은 글 번호부터 size개 (글 번호순으로 보여주는 검색만)
+    private Slice<PostSummaryDto> searchAfter(String type, String keyword, Long after, int size){
+        switch (type){
+            case "userId":
+                return postService.findPostsByUserIdAfter(Long.parseLong(keyword), after, size);
+            case "postId":
+                return postService.findPostsByPostIdAfter(Long.parseLong(keyword), after, size);
+            default:
+                throw new IllegalArgumentException("지원하지 않는 검색 타입 : "+type);
+        }
+    }
+
+    //페이지 번호 모드 : 번호 버튼은 PAGE_LINK_LIMIT 개까지만, 그 다음은 커서 링크로 넘어가기 위한 값들
+    private void addPageLinkAttributes(Model model, Slice<PostSummaryDto> postPage, int size){
+        model.addAttribute("pageLinkLimit", PAGE_LINK_LIMIT);
+        model.addAttribute("nextCursor", lastPostId(postPage));
+        model.addAttribute("size", size);
+    }
+
+    //커서 모드 : 전체 페이지 수를 모르므로(COUNT 안 함) "처음 / 다음" 버튼만 보여준다
+    private void addCursorAttributes(Model model, Slice<PostSummaryDto> postSlice, int size){
+        model.addAttribute("posts", postSlice.getContent());
+        model.addAttribute("cursorMode", true);
+        model.addAttribute("hasNext", postSlice.hasNext());       // 다음 묶음이 있는지
+        model.addAttribute("nextCursor", lastPostId(postSlice)); // 다음 요청의 after 값
+        model.addAttribute("size", size);
+        model.addAttribute("currentPage", 0);
+        model.addAttribute("totalPages", 0); // 페이지 번호 UI 숨기기
+    }
+
+    //현재 묶음의 마지막(가장 작은) 글 번호 >> 다음 묶음은 이 번호보다 작은 글부터
+    private Long lastPostId(Slice<PostSummaryDto> postSlice){
+        List<PostSummaryDto> posts = postSlice.getContent();
+        return posts.isEmpty() ? null : posts.get(posts.size() - 1).getId();
+    }
 }
 /*ReQuestParam 이란?
     사용자가 [폼 입력]이나 [URL 쿼리스트링] 으로 보낸 값을 [메서드의 파라미터(매개변수)]로 받아주는 어노테이션
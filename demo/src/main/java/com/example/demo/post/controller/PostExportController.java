@@ -0,0 +1,40 @@
+package com.example.demo.post.controller;
+
+import com.example.demo.post.service.PostExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+
+/*
+ * 게시글 + 댓글 내보내기 다운로드
+ * GET /posts/export?format=ndjson (기본) | csv
+ * 응답 크기(Content-Length)를 미리 정하지 않고 응답 스트림에 바로 쓰므로 chunked 전송으로 나간다.
+ * (StreamingResponseBody 는 비동기 요청 제한시간(기본 30초)에 걸려 큰 파일이 잘릴 수 있어서 요청 스레드에서 바로 씀)
+ */
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/posts/export")
+public class PostExportController {
+
+    private final PostExportService postExportService;
+
+    @GetMapping
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        if ("csv".equalsIgnoreCase(format)) {
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts.csv\"");
+            postExportService.exportCsv(response.getOutputStream());
+            return;
+        }
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts.ndjson\"");
+        postExportService.exportNdjson(response.getOutputStream());
+    }
+}
@@ -2,9 +2,12 @@ package com.example.demo.post.domain;
 
 import com.example.demo.comment.domain.Comment;
 import com.example.demo.user.domain.User;
+import com.example.demo.common.jpa.IdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,10 +17,21 @@ import java.util.List;
 @Entity //JPA Entity 선언( DB 테이블로 매핑시키기 )
 @Getter  // lombok의 getter 메서드 자동 생성
 @NoArgsConstructor // lombok의 기본 생성자 자동생성 메서드
+@SQLRestriction("purging = false") // 삭제 중인 글(댓글을 나눠서 지우는 중)은 모든 조회에서 제외
+// 목록 "최근 활동순" 정렬용 인덱스 (ORDER BY last_activity_at DESC, id DESC 를 인덱스 역순 읽기로 처리)
+// 실제 DB 인덱스는 db/migration 의 SQL 로 만든다, 여기 선언은 테스트(ddl-auto)용
+@Table(indexes = {
+        @Index(name = "idx_post_last_activity", columnList = "last_activity_at, id"),
+        @Index(name = "idx_post_user_id", columnList = "user_id, id")}) // 작성자별 최신순
 public class Post {
 
     @Id                 //PK 지정
-    @GeneratedValue(strategy= GenerationType.IDENTITY) // id(게시글 번호)의 수 자동증가
+    // id 자동증가(IDENTITY)는 INSERT 마다 DB가 번호를 만들어 돌려줘야 해서 여러 건을 한 번에 보내는 배치 INSERT 가 꺼진다
+    // >> id_generator 테이블에서 번호를 50개씩 미리 받아와서(hi/lo) 쓴다 (IdGenerators 참고)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_id")
+    @TableGenerator(name = "post_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.KEY_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "post",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
 
@@ -53,6 +67,31 @@ public class Post {
     private LocalDateTime createdAt; //작성일시  , 시간타입으로 자동매핑
     private LocalDateTime updatedAt; // 수정일시
 
+    /* 댓글 수 / 마지막 댓글 시각 / 최근 활동 시각 (목록에서 댓글 수 표시, 활동순 정렬용)
+    comments 컬렉션을 읽거나 글마다 COUNT 를 하지 않도록 게시글 행에 미리 저장해둔다.
+    값은 댓글 작성/삭제 때 DB 에서 바로 +1/-1 (PostRepository.incrementCommentCount 등) 하고,
+    어긋난 값은 PostStatsRepairJob 이 주기적으로 다시 계산한다 >> 엔티티 필드를 직접 바꾸지 않음
+    updatable = false : 글 수정(엔티티 저장) 때 읽어둔 옛 값으로 덮어쓰지 않도록 UPDATE 문에서 뺀다*/
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int commentCount = 0;
+
+    @Column(updatable = false)
+    private LocalDateTime lastCommentedAt; // 댓글이 없으면 null
+
+    @Column(updatable = false)
+    private LocalDateTime lastActivityAt;  // 작성일시 또는 마지막 댓글 시각
+
+    // 조회수 : 조회마다 쓰지 않고 ViewCountService 가 모아서 주기적으로 더한다 (같은 이유로 updatable = false)
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long viewCount = 0;
+
+    // 삭제 중 표시 : 댓글이 아주 많은 글은 백그라운드에서 나눠 지우는 동안 true (PostPurgeService)
+    @Column(nullable = false)
+    @ColumnDefault("false") // 컬럼 추가 시 기존 글은 false
+    private boolean purging = false;
+
     //게시글 삭제시 하위 댓글들도 일괄 삭제시키기 (1:N)
     @OneToMany(mappedBy = "post",cascade=CascadeType.REMOVE,orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
@@ -67,6 +106,26 @@ public class Post {
         this.user = user; // 작성자를 User 객체로 연결
         this.createdAt=LocalDateTime.now();
         this.updatedAt=LocalDateTime.now();
+        this.lastActivityAt=this.createdAt;
+    }
+
+    // 다른 게시판에서 옮겨올 때(일괄 가져오기) 원래 작성일시를 그대로 유지
+    public Post(String title, String content, User user, LocalDateTime createdAt){
+        this(title, content, user);
+        if (createdAt != null) {
+            this.createdAt = createdAt;
+            this.updatedAt = createdAt;
+            this.lastActivityAt = createdAt;
+        }
+    }
+
+    // 일괄 가져오기 : 같이 가져온 댓글 수/마지막 댓글 시각을 저장 전에 채워두기
+    public void applyImportedComments(int count, LocalDateTime lastCommentedAt){
+        this.commentCount = count;
+        this.lastCommentedAt = lastCommentedAt;
+        if (lastCommentedAt != null && lastCommentedAt.isAfter(this.lastActivityAt)) {
+            this.lastActivityAt = lastCommentedAt;
+        }
     }
 
     //수정 할 때
@@ -0,0 +1,27 @@
+package com.example.demo.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+import java.time.LocalDateTime;
+
+/*
+ * 📌 게시글 상세화면용 조회 DTO
+ * - 상세화면 캐시(postDetailCache)에 그대로 보관된다
+ *   >> 엔티티를 캐시에 넣으면 다음 요청에서 LAZY 필드(user)를 꺼낼 때 세션이 없어 오류가 나므로
+ *      화면에 필요한 값을 미리 다 꺼내서 담아둔다
+ */
+@Getter
+@AllArgsConstructor
+public class PostDetailDto {
+    private Long id;
+    private String title;
+    private String content;
+    private String nickname; // 작성자 닉네임
+    private String username; // 작성자 아이디
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    @With // 캐시에 든 DTO 의 조회수만 바꾼 복사본 만들기 (ViewCountService)
+    private long viewCount; // DB에 반영된 조회수 (아직 안 쓴 조회수는 화면에서 더해서 보여줌)
+}
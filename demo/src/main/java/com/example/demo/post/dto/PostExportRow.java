@@ -0,0 +1,27 @@
+package com.example.demo.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/*
+ * 📌 내보내기(export)용 한 행 = 게시글 1개 + 댓글 1개 (댓글이 없는 글은 댓글 칸이 null)
+ * - 게시글 + 댓글 + 작성자들을 JOIN 해서 "게시글번호, 댓글번호" 순으로 한 줄씩 읽는다
+ * - 엔티티가 아닌 값만 읽으므로 영속성 컨텍스트에 아무것도 쌓이지 않는다 >> 몇 건을 내보내도 메모리 일정
+ */
+@Getter
+@AllArgsConstructor
+public class PostExportRow {
+    private Long postId;
+    private String title;
+    private String content;
+    private String username;
+    private String nickname;
+    private LocalDateTime createdAt;
+    private Long commentId;             // 댓글 없으면 null
+    private String commentContent;
+    private String commentUsername;
+    private String commentNickname;
+    private LocalDateTime commentCreatedAt;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * 📌 게시글 목록/검색 화면용 조회 DTO
+ * - 목록에는 글번호, 제목, 작성자 닉네임, 댓글 수만 보이므로 이 값들만 SELECT 한다
+ * - 엔티티(Post)가 아니므로 영속성 컨텍스트에 올라가지 않고, 변경감지(Dirty Checking) 대상도 아니다
+ *   >> content, comments(댓글 목록) 같은 필요 없는 값도 안 가져옴
+ */
+@Getter
+@AllArgsConstructor // JPQL "select new ...PostSummaryDto(p.id, p.title, u.nickname, p.commentCount)" 에서 사용
+public class PostSummaryDto {
+    private Long id;         // 글번호
+    private String title;    // 제목
+    private String nickname; // 작성자 닉네임
+    private int commentCount; // 댓글 수 (Post.commentCount)
+}
@@ -0,0 +1,45 @@
+package com.example.demo.post.importer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/*
+ * 명령줄에서 일괄 가져오기 실행
+ *   ./gradlew bootRun --args='--app.import.file=/data/board.ndjson'
+ *   (묶음 크기 조정 : --app.import.batch-size=2000)
+ * 가져오기가 끝나면 서버를 종료한다 (계속 띄워두려면 --app.import.exit=false)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.import.file")
+public class BoardImportRunner implements ApplicationRunner {
+
+    private final BoardImportService boardImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${app.import.file}")
+    private Path file;
+
+    @Value("${app.import.exit:true}")
+    private boolean exitAfterImport;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("일괄 가져오기 시작: {}", file);
+        ImportResult result = boardImportService.importNdjson(file);
+        if (exitAfterImport) {
+            int exitCode = result.posts() == 0 && result.skipped() > 0 ? 1 : 0;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.demo.post.importer;
+
+import com.example.demo.comment.domain.Comment;
+import com.example.demo.post.domain.Post;
+import com.example.demo.post.search.PostSearchIndex;
+import com.example.demo.post.service.PostCountService;
+import com.example.demo.post.service.PostListVersion;
+import com.example.demo.user.domain.User;
+import com.example.demo.user.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 게시글/댓글 일괄 가져오기 (다른 게시판 이전, 스테이징 데이터 채우기)
+ * - 파일을 한 줄씩 읽고(ImportRow) 바로 처리하므로 파일 크기와 상관없이 메모리 사용량이 일정하다
+ * - batch-size 행(게시글+댓글)마다 한 번 커밋하고 영속성 컨텍스트를 비운다 (엔티티가 계속 쌓이지 않게)
+ * - 작성자는 아이디로 찾고, 찾은 결과는 작은 캐시에 기억해서 같은 회원을 매번 조회하지 않는다
+ * - createPost 와 같은 검사(제목/내용/작성자)를 통과 못 한 줄은 건너뛰고 개수만 센다
+ */
+@Slf4j
+@Service
+public class BoardImportService {
+
+    private static final int MAX_LOGGED_ERRORS = 20; // 건너뛴 줄은 앞의 20개만 로그로 남김
+    private static final Long MISSING = -1L;         // 없는 회원도 캐시해서 다시 조회하지 않기
+
+    private final ObjectReader rowReader;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PostSearchIndex postSearchIndex;
+    private final PostCountService postCountService;
+    private final PostListVersion postListVersion;
+    private final int batchSize;
+    private final int authorCacheSize;
+
+    public BoardImportService(ObjectMapper objectMapper,
+                              UserRepository userRepository,
+                              EntityManager entityManager,
+                              TransactionTemplate transactionTemplate,
+                              PostSearchIndex postSearchIndex,
+                              PostCountService postCountService,
+                              PostListVersion postListVersion,
+                              @Value("${app.import.batch-size:1000}") int batchSize,
+                              @Value("${app.import.author-cache-size:10000}") int authorCacheSize) {
+        this.rowReader = objectMapper.readerFor(ImportRow.class);
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.postSearchIndex = postSearchIndex;
+        this.postCountService = postCountService;
+        this.postListVersion = postListVersion;
+        this.batchSize = batchSize;
+        this.authorCacheSize = authorCacheSize;
+    }
+
+    public ImportResult importNdjson(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importNdjson(reader);
+        }
+    }
+
+    public ImportResult importNdjson(BufferedReader reader) throws IOException {
+        Progress progress = new Progress(System.nanoTime());
+        // 아이디 -> 회원번호, 오래 안 쓴 아이디부터 버리는 LRU (회원이 아무리 많아도 authorCacheSize 개까지만)
+        Map<String, Long> authors = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > authorCacheSize;
+            }
+        };
+
+        List<PendingPost> batch = new ArrayList<>();
+        int batchRows = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            PendingPost pending = parse(line, lineNumber, authors, progress);
+            if (pending == null) {
+                continue;
+            }
+            batch.add(pending);
+            batchRows += 1 + pending.comments().size();
+            if (batchRows >= batchSize) {
+                commit(batch, progress);
+                batch.clear();
+                batchRows = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            commit(batch, progress);
+        }
+
+        ImportResult result = progress.result();
+        log.info("가져오기 완료: 게시글 {}건, 댓글 {}건, 건너뜀 {}건, {}초 ({}행/초)",
+                result.posts(), result.comments(), result.skipped(),
+                result.elapsed().toSeconds(), Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    // 한 줄을 읽어서 검사 + 작성자 확인, 문제 있으면 null (댓글은 문제 있는 댓글만 빼고 진행)
+    private PendingPost parse(String line, long lineNumber, Map<String, Long> authors, Progress progress) {
+        ImportRow row;
+        try {
+            row = rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            progress.skip(lineNumber, "JSON 형식 오류: " + e.getOriginalMessage());
+            return null;
+        }
+        String error = validate(row.getTitle(), 100, "제목")
+                + validate(row.getContent(), 255, "내용");
+        if (!error.isEmpty()) {
+            progress.skip(lineNumber, error);
+            return null;
+        }
+        Long authorId = resolveAuthor(row.getAuthor(), authors);
+        if (authorId == null) {
+            progress.skip(lineNumber, "작성자가 존재하지 않습니다. author=" + row.getAuthor());
+            return null;
+        }
+
+        List<PendingComment> comments = new ArrayList<>();
+        for (ImportRow.ImportComment comment : row.getComments()) {
+            String commentError = validate(comment.getContent(), 200, "댓글");
+            Long commentAuthorId = resolveAuthor(comment.getAuthor(), authors);
+            if (!commentError.isEmpty() || commentAuthorId == null) {
+                progress.skip(lineNumber, commentError.isEmpty()
+                        ? "댓글 작성자가 존재하지 않습니다. author=" + comment.getAuthor()
+                        : commentError);
+                continue;
+            }
+            comments.add(new PendingComment(comment, commentAuthorId));
+        }
+        return new PendingPost(row, authorId, comments);
+    }
+
+    // PostService.createPost 와 같은 검사 + 컬럼 길이 검사 (길이가 넘치면 묶음 전체가 실패하므로 미리 거르기)
+    private String validate(String value, int maxLength, String label) {
+        if (value == null || value.isBlank()) {
+            return label + "은(는) 비워둘 수 없습니다. ";
+        }
+        if (value.length() > maxLength) {
+            return label + "은(는) " + maxLength + "자까지 가능합니다. ";
+        }
+        return "";
+    }
+
+    private Long resolveAuthor(String username, Map<String, Long> authors) {
+        if (username == null || username.isBlank()) {
+            return null;
+        }
+        Long id = authors.computeIfAbsent(username, name -> userRepository.findByUsername(name)
+                .map(User::getId)
+                .orElse(MISSING));
+        return MISSING.equals(id) ? null : id;
+    }
+
+    // 묶음 하나를 한 트랜잭션으로 저장 >> 저장 후 영속성 컨텍스트 비우기 >> 커밋된 글만 검색 색인/게시글 수에 반영
+    private void commit(List<PendingPost> batch, Progress progress) {
+        List<Post> saved = transactionTemplate.execute(status -> {
+            List<Post> posts = new ArrayList<>(batch.size());
+            for (PendingPost pending : batch) {
+                ImportRow row = pending.row();
+                Post post = new Post(row.getTitle(), row.getContent(),
+                        entityManager.getReference(User.class, pending.authorId()), row.getCreatedAt());
+                post.applyImportedComments(pending.comments().size(), lastCommentedAt(pending)); // 댓글 수/최근 활동
+                entityManager.persist(post);
+                for (PendingComment pendingComment : pending.comments()) {
+                    Comment comment = new Comment();
+                    comment.setPost(post);
+                    comment.setUser(entityManager.getReference(User.class, pendingComment.authorId()));
+                    comment.setContent(pendingComment.comment().getContent());
+                    if (pendingComment.comment().getCreatedAt() != null) {
+                        comment.setCreatedAt(pendingComment.comment().getCreatedAt());
+                    }
+                    entityManager.persist(comment);
+                }
+                posts.add(post);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return posts;
+        });
+
+        for (int i = 0; i < batch.size(); i++) {
+            postSearchIndex.index(saved.get(i));
+            postCountService.increment(batch.get(i).authorId());
+            progress.posts++;
+            progress.comments += batch.get(i).comments().size();
+        }
+        postListVersion.bumpAfterCommit(); // 트랜잭션 밖이므로 바로
+        ImportResult current = progress.result();
+        log.info("가져오는 중: 게시글 {}건, 댓글 {}건, 건너뜀 {}건 ({}행/초)",
+                current.posts(), current.comments(), current.skipped(), Math.round(current.rowsPerSecond()));
+    }
+
+    // 가져올 댓글 중 가장 늦은 작성일시 (작성일시가 없는 댓글은 지금 시각으로 저장되므로 지금)
+    private LocalDateTime lastCommentedAt(PendingPost pending) {
+        LocalDateTime last = null;
+        for (PendingComment pendingComment : pending.comments()) {
+            LocalDateTime createdAt = pendingComment.comment().getCreatedAt() != null
+                    ? pendingComment.comment().getCreatedAt()
+                    : LocalDateTime.now();
+            if (last == null || createdAt.isAfter(last)) {
+                last = createdAt;
+            }
+        }
+        return last;
+    }
+
+    private record PendingPost(ImportRow row, Long authorId, List<PendingComment> comments) {
+    }
+
+    private record PendingComment(ImportRow.ImportComment comment, Long authorId) {
+    }
+
+    // 진행 상황 집계
+    private static final class Progress {
+        private final long startNanos;
+        private long posts;
+        private long comments;
+        private long skipped;
+
+        private Progress(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        private void skip(long lineNumber, String reason) {
+            skipped++;
+            if (skipped <= MAX_LOGGED_ERRORS) {
+                log.warn("가져오기 {}번째 줄 건너뜀: {}", lineNumber, reason.trim());
+            }
+        }
+
+        private ImportResult result() {
+            return new ImportResult(posts, comments, skipped, Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+    }
+}
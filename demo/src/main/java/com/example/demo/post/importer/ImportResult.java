@@ -0,0 +1,13 @@
+package com.example.demo.post.importer;
+
+import java.time.Duration;
+
+// 일괄 가져오기 결과 : 저장한 게시글/댓글 수, 건너뛴 줄 수, 걸린 시간
+public record ImportResult(long posts, long comments, long skipped, Duration elapsed) {
+
+    // 초당 처리한 행(게시글 + 댓글) 수
+    public double rowsPerSecond() {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        return (posts + comments) / seconds;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.post.importer;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 📌 일괄 가져오기 파일(NDJSON)의 한 줄 = 게시글 1개 + 그 글의 댓글들
+ * {"title":"제목","content":"내용","author":"user1","createdAt":"2024-01-01T10:00:00",
+ *  "comments":[{"content":"댓글","author":"user2","createdAt":"2024-01-01T11:00:00"}]}
+ * - author : 이미 가입된 회원의 아이디(username)
+ * - createdAt : 생략하면 가져온 시각
+ * 댓글을 게시글 줄 안에 같이 넣으므로, 파일이 아무리 커도 한 줄씩만 읽으면 된다 (게시글 번호를 따로 기억할 필요 없음)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportRow {
+    private String title;
+    private String content;
+    private String author;
+    private LocalDateTime createdAt;
+    private List<ImportComment> comments = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class ImportComment {
+        private String content;
+        private String author;
+        private LocalDateTime createdAt;
+    }
+}
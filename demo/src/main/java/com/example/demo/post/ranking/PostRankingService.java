@@ -0,0 +1,217 @@
+package com.example.demo.post.ranking;
+
+import com.example.demo.post.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * "지금 인기글" 순위 (조회/댓글이 최근에 많이 일어난 글)
+ * 요청마다 게시글 x 댓글을 묶어 ORDER BY 하면 글이 많을수록 느려지므로 점수를 메모리에서 미리 계산해둔다.
+ *
+ * 점수 : 조회 1번 = view-weight, 댓글 1개 = comment-weight, 시간이 half-life 지날 때마다 절반으로 줄어듦(시간 감쇠)
+ * - 모든 글의 점수를 매번 줄이는 대신, 기준 시각(epoch) 이후 지난 시간만큼 "새 이벤트에 더 큰 값"을 더한다
+ *   (weight * 2^(경과시간 / half-life)) >> 모든 글이 같은 비율로 줄어드는 것과 순위가 똑같다
+ *   그래서 이벤트가 생긴 글 하나만 점수가 바뀌고, 순위도 그 글 하나만 넣고/빼면 된다
+ * - 값이 너무 커지지 않게 주기적으로 기준 시각을 현재로 옮기고(rebase) 점수를 그만큼 줄인다,
+ *   이때 거의 0이 된 글은 메모리에서 뺀다
+ * - 상위 size 개는 바뀔 때마다 새 불변 리스트로 만들어 volatile 로 교체 >> 읽기는 잠금 없이 O(1)
+ */
+@Slf4j
+@Component
+public class PostRankingService {
+
+    private static final Comparator<TrendingPost> BEST_FIRST =
+            Comparator.comparingDouble(TrendingPost::score).reversed()
+                    .thenComparing(Comparator.comparingLong(TrendingPost::postId).reversed());
+
+    private final PostRepository postRepository;
+    private final int size;
+    private final double viewWeight;
+    private final double commentWeight;
+    private final double halfLifeNanos;
+    private final double pruneScore;
+
+    private final Map<Long, Double> scores = new ConcurrentHashMap<>(); // 게시글id -> 점수 (epoch 기준)
+    // 점수 더하기는 여러 스레드가 동시에(읽기 잠금), rebase 는 혼자(쓰기 잠금)
+    private final ReentrantReadWriteLock epochLock = new ReentrantReadWriteLock();
+    private final ReentrantLock topLock = new ReentrantLock(); // 상위 목록 교체는 하나씩
+    private volatile long epochNanos = System.nanoTime();
+    private volatile List<TrendingPost> top = List.of();
+
+    public PostRankingService(PostRepository postRepository,
+                              @Value("${app.trending.size:10}") int size,
+                              @Value("${app.trending.view-weight:1}") double viewWeight,
+                              @Value("${app.trending.comment-weight:5}") double commentWeight,
+                              @Value("${app.trending.half-life:6h}") Duration halfLife,
+                              @Value("${app.trending.prune-score:0.01}") double pruneScore) {
+        this.postRepository = postRepository;
+        this.size = size;
+        this.viewWeight = viewWeight;
+        this.commentWeight = commentWeight;
+        this.halfLifeNanos = halfLife.toNanos();
+        this.pruneScore = pruneScore;
+    }
+
+    // 상위 목록 (미리 만들어둔 리스트를 그대로 반환)
+    public List<TrendingPost> top() {
+        return top;
+    }
+
+    // 상세화면 조회 (제목은 화면에서 이미 알고 있으므로 같이 받음)
+    public void recordView(Long postId, String title) {
+        add(postId, title, viewWeight);
+    }
+
+    // 댓글 작성, 트랜잭션 안이면 커밋된 뒤에 반영 (롤백된 댓글은 점수에 안 들어가게)
+    public void recordComment(Long postId) {
+        afterCommit(() -> add(postId, null, commentWeight));
+    }
+
+    // 제목이 바뀐 글 (상위 목록에 있을 때만 바꿔 끼우기)
+    public void rename(Long postId, String title) {
+        topLock.lock();
+        try {
+            List<TrendingPost> next = new ArrayList<>(top);
+            next.replaceAll(post -> post.postId().equals(postId) ? new TrendingPost(postId, title, post.score()) : post);
+            top = List.copyOf(next);
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    // 글 수정/삭제도 댓글처럼 커밋된 뒤에 반영 (롤백되면 순위는 그대로)
+    public void renameAfterCommit(Long postId, String title) {
+        afterCommit(() -> rename(postId, title));
+    }
+
+    public void removeAfterCommit(Long postId) {
+        afterCommit(() -> remove(postId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    // 삭제된 글 : 점수를 지우고, 상위 목록에 있었다면 남은 글에서 다시 뽑기
+    public void remove(Long postId) {
+        scores.remove(postId);
+        if (top.stream().anyMatch(post -> post.postId().equals(postId))) {
+            rebuildTop();
+        }
+    }
+
+    // 상위 목록 반영까지 읽기 잠금 안에서 (중간에 rebase 되면 옛 기준의 점수가 목록에 들어가므로)
+    private void add(Long postId, String title, double weight) {
+        epochLock.readLock().lock();
+        try {
+            double boost = Math.pow(2, (System.nanoTime() - epochNanos) / halfLifeNanos);
+            double score = scores.merge(postId, weight * boost, Double::sum);
+            List<TrendingPost> current = top;
+            if (current.size() >= size && score <= current.get(current.size() - 1).score()
+                    && current.stream().noneMatch(post -> post.postId().equals(postId))) {
+                return; // 상위 목록에 못 드는 글 (대부분의 이벤트는 여기서 끝)
+            }
+            updateTop(postId, title, score);
+        } finally {
+            epochLock.readLock().unlock();
+        }
+    }
+
+    // 글 하나만 목록에 넣거나 점수를 바꾸고 다시 정렬 (size 개 정렬이므로 가벼움)
+    private void updateTop(Long postId, String title, double score) {
+        topLock.lock();
+        try {
+            List<TrendingPost> next = new ArrayList<>(top.size() + 1);
+            TrendingPost existing = null;
+            for (TrendingPost post : top) {
+                if (post.postId().equals(postId)) {
+                    existing = post;
+                } else {
+                    next.add(post);
+                }
+            }
+            if (existing != null) {
+                next.add(existing.withScore(Math.max(existing.score(), score)));
+            } else {
+                String resolved = title != null ? title : postRepository.findTitleById(postId).orElse(null);
+                if (resolved == null) {
+                    return; // 그 사이 삭제된 글
+                }
+                next.add(new TrendingPost(postId, resolved, score));
+            }
+            next.sort(BEST_FIRST);
+            top = List.copyOf(next.size() > size ? next.subList(0, size) : next);
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    // 전체 점수에서 상위 size 개 다시 뽑기 (삭제/rebase 때만, 크기 size 의 최소 힙)
+    private void rebuildTop() {
+        topLock.lock();
+        try {
+            Map<Long, String> titles = new HashMap<>();
+            top.forEach(post -> titles.put(post.postId(), post.title()));
+            PriorityQueue<TrendingPost> heap = new PriorityQueue<>(BEST_FIRST.reversed());
+            scores.forEach((postId, score) -> {
+                heap.offer(new TrendingPost(postId, titles.get(postId), score));
+                if (heap.size() > size) {
+                    heap.poll(); // 가장 낮은 점수 버리기
+                }
+            });
+            List<TrendingPost> next = new ArrayList<>(heap.size());
+            for (TrendingPost post : heap) {
+                String title = post.title() != null ? post.title() : postRepository.findTitleById(post.postId()).orElse(null);
+                if (title != null) {
+                    next.add(new TrendingPost(post.postId(), title, post.score()));
+                }
+            }
+            next.sort(BEST_FIRST);
+            top = List.copyOf(next);
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    // 기준 시각을 지금으로 옮기기 : 모든 점수를 같은 비율로 줄이고 거의 0인 글은 버림 (기본 1시간마다)
+    @Scheduled(fixedDelayString = "${app.trending.rebase-interval-ms:3600000}",
+            initialDelayString = "${app.trending.rebase-interval-ms:3600000}")
+    public void rebase() {
+        epochLock.writeLock().lock();
+        try {
+            long now = System.nanoTime();
+            double factor = Math.pow(2, -(now - epochNanos) / halfLifeNanos);
+            scores.replaceAll((postId, score) -> score * factor);
+            scores.values().removeIf(score -> score < pruneScore);
+            epochNanos = now;
+            rebuildTop();
+        } finally {
+            epochLock.writeLock().unlock();
+        }
+        log.debug("인기글 점수 기준 시각 갱신, 추적 중인 글 {}개", scores.size());
+    }
+}
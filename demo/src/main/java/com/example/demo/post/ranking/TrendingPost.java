@@ -0,0 +1,12 @@
+package com.example.demo.post.ranking;
+
+/*
+ * 인기글 목록 한 줄 (index.html "지금 인기글")
+ * score 는 기준 시각(epoch)에 맞춘 값이라 크기 비교에만 쓴다 (화면에 그대로 보여주는 숫자가 아님)
+ */
+public record TrendingPost(Long postId, String title, double score) {
+
+    TrendingPost withScore(double newScore) {
+        return new TrendingPost(postId, title, newScore);
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.demo.post.repository;
 
 import com.example.demo.post.domain.Post;
+import com.example.demo.post.dto.PostDetailDto;
+import com.example.demo.post.dto.PostSummaryDto;
 import com.example.demo.user.domain.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
    /*  JpaRepository 덕분에 기본적인 CRUD 메서드가 자동으로 제공.
@@ -16,6 +25,14 @@ public interface PostRepository extends JpaRepository<Post, Long> {
    즉 이 인터페이스는 Post엔티티를 DB와 연결해 CRUD를 사용하는 기능을 가진다.
    save(), findAll(), findById(), deleteById(), count() 등등...
    */
+   /*@EntityGraph(attributePaths = "user")
+   Post.user는 LAZY라서 post.user.nickname을 찍을 때 작성자 SELECT가 1번 더 나간다 (여러 건이면 건마다, N+1 문제).
+   EntityGraph를 붙이면 처음부터 users 테이블을 JOIN 해서 한 번에 가져온다 (fetch join)
+   목록/검색 화면은 엔티티 대신 DTO 프로젝션(SUMMARY)으로 작성자까지 JOIN 해서 가져온다*/
+
+    // 게시글 상세보기용 단건 조회 (작성자까지 한 번에)
+    @EntityGraph(attributePaths = "user")
+    Optional<Post> findWithUserById(Long id);
 
     List<Post> findByUser(User user); //엔티티기반
     /*Spring Data JPA 는 메서드 이름을 분석해서 자동으로 SQL로 만든다
@@ -23,36 +40,138 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     * > 즉, Post엔티티 안에있는 user필드(FK,작성자 정보값)를 보고
     * >> 이 유저와 관련된 모든 게시글을 가져오겠다.*/
 
-    // User Id값으로 검색(검색창 입력값 기반)
-    Page<Post> findByUserId(Long userId,Pageable pageable);
-    /*Post 엔티티 안에는 user라는 필드가 존재하는데 이 user는 User엔티티와
-    * 연관관계(@ManyToOne)을 맺고있음
-    * JPA는 user.id 라는 하위 필드를 자동으로 탐색하게된다.
-    * ex) List<Post> posts = postRepository.findByUserId(1L);
-    * user_id가 1인 유저가 작성한 모든 게시글을 리스트로 반환.
-    즉, 작성자 ID로 게시글을 검색할 때 사용*/
-
-    // 제목 + 내용 키워드 검색
-    Page<Post> findByTitleContainingOrContentContaining(String titleKeyword,
-                                                        String contentKeyword,
-                                                        Pageable pageable);
-        /*List<> : Post만 담는 여러개를 목록으로 돌려주는 반환타입.
-    * findBy : JPA 메서드의 이름규칙 시작 키워드!
-    * Containing : 부분 일치 검색하기 => SQL의 LIKE '%키워드%'
-    * >> Title,Content는 Post엔티티안에 존재하는 프로퍼티(데이터)이름을 그대로 사용해야함!
-    * >> TitleContaining Or(조건 묶기) ContentContaining
-    * */
-
-    //글 번호 검색
-    Page<Post> findAllById(Long id,Pageable pageable);
-    /*여기서 Id는 Post 엔티티의 PK(기본키) 필드 id를 의미
-    * ex)SELECT * FROM post WHERE id = ?;
-    * 그렇다면 왜 findById가 아니라 findAllById 인가!?
-    * JpaRepository는 이미 기본 메서드로 Optional<Post> findById(Long id)를 제공
-    * >> 이름 충돌 회피 + 검색 결과 일관성 유지(List 반환) → findAllById 라고 작성
-    * 단건 조회에 적합 (글 하나만 가져올 때).
-    하지만 검색 기능은 항상 결과를 List로 반환하는 게 일관성이 있다.
-    예: 제목 검색도 List<Post> 반환, 작성자 검색도 List<Post> 반환
-    글번호 검색도 똑같이 List<Post>로 반환하면, 컨트롤러/서비스에서 공통 처리하기 편리.
-    그래서 메서드 이름을 findAllById로 바꿔서 List<Post>를 반환하도록 만든 것*/
+    // 검색 색인(PostSearchIndex)을 처음 만들 때 id 순서대로 나눠서 읽어오기
+    Slice<Post> findByIdGreaterThan(Long id, Pageable pageable);
+    /*Slice : Page와 달리 전체 개수(COUNT 쿼리)를 구하지 않고 "다음 페이지가 있는지"만 알려준다
+    * SELECT * FROM post WHERE id > ? ORDER BY id LIMIT ?*/
+
+    /*목록/검색 화면용 조회 (DTO 프로젝션)
+    * select new ...PostSummaryDto(p.id, p.title, u.nickname, p.commentCount) : 화면에 필요한 4개 컬럼만 SELECT
+    * >> 엔티티가 아니라서 영속성 컨텍스트에 올라가지 않고, 변경감지 비용도 없다
+    * >> 작성자는 join p.user u 로 같이 가져오므로 N+1도 없음*/
+    String SUMMARY = "select new com.example.demo.post.dto.PostSummaryDto(p.id, p.title, u.nickname, p.commentCount) " +
+            "from Post p join p.user u ";
+
+    // COUNT 쿼리 없이 해당 페이지의 글만 가져오기 (전체 개수는 PostCountService가 캐시해서 알려줌)
+    @Query(SUMMARY)
+    List<PostSummaryDto> findSummaries(Pageable pageable);
+    /*반환 타입이 Page가 아니라 List면 Spring Data는 LIMIT/OFFSET만 걸고 COUNT(*)는 실행하지 않는다*/
+
+    // 최근 활동순(새 글 또는 새 댓글이 달린 순서) 목록 : idx_post_last_activity 인덱스를 타도록 정렬 고정
+    @Query(SUMMARY + "order by p.lastActivityAt desc, p.id desc")
+    List<PostSummaryDto> findSummariesByActivity(Pageable pageable);
+
+    // 작성자 ID 검색의 COUNT 없는 버전
+    @Query(SUMMARY + "where u.id = :userId")
+    List<PostSummaryDto> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 글번호 검색 (결과는 0개 또는 1개)
+    @Query(SUMMARY + "where p.id = :id")
+    List<PostSummaryDto> findSummariesById(@Param("id") Long id);
+
+    // 검색 색인이 찾아준 게시글 번호들로 가져오기
+    @Query(SUMMARY + "where p.id in :ids")
+    List<PostSummaryDto> findSummariesByIdIn(@Param("ids") List<Long> ids);
+
+    // 제목+내용 LIKE 검색 (검색 색인이 준비되기 전에만 사용)
+    @Query(value = SUMMARY + "where p.title like %:keyword% or p.content like %:keyword%",
+            countQuery = "select count(p) from Post p where p.title like %:keyword% or p.content like %:keyword%")
+    Page<PostSummaryDto> searchSummaries(@Param("keyword") String keyword, Pageable pageable);
+
+    /* 제목+내용 FULLTEXT 검색 (MySQL, ft_post_title_content 인덱스 / V3__query_indexes.sql)
+    * 검색 색인이 준비되기 전에 LIKE 대신 사용, 번호만 최신순으로 가져오고 목록 값은 findSummariesByIdIn 으로
+    * 네이티브 쿼리라 @SQLRestriction 이 붙지 않으므로 purging 조건을 직접 건다*/
+    @Query(value = "select id from post where purging = false " +
+            "and match(title, content) against (:query in boolean mode) order by id desc limit :limit offset :offset",
+            nativeQuery = true)
+    List<Long> findIdsByFullText(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(value = "select count(*) from post where purging = false " +
+            "and match(title, content) against (:query in boolean mode)", nativeQuery = true)
+    long countByFullText(@Param("query") String query);
+
+    // 커서(keyset) 페이징 : 마지막으로 본 글 번호(id)보다 작은 글부터 이어서 가져오기
+    @Query(SUMMARY + "where p.id < :afterId")
+    Slice<PostSummaryDto> findSummariesBefore(@Param("afterId") Long afterId, Pageable pageable);
+    /*OFFSET 페이징 : SELECT ... ORDER BY id DESC LIMIT 10 OFFSET 10000
+    * >> DB가 앞의 10000개를 읽고 버려야 해서 뒤 페이지로 갈수록 느려진다 + 매번 COUNT(*) 실행
+    * 커서 페이징 : SELECT ... WHERE id < ? ORDER BY id DESC LIMIT 11
+    * >> PK 인덱스에서 바로 그 위치를 찾아가므로 몇 번째 페이지든 속도가 같다
+    * Slice는 LIMIT을 1개 더 걸어서 다음 페이지 여부만 확인한다(COUNT 쿼리 없음)*/
+
+    // 작성자 ID 검색의 커서 페이징 버전
+    @Query(SUMMARY + "where u.id = :userId and p.id < :afterId")
+    Slice<PostSummaryDto> findSummariesByUserIdBefore(@Param("userId") Long userId,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    // 게시글 상세화면용 조회 (DTO 프로젝션, 상세화면 캐시에 보관됨)
+    @Query("select new com.example.demo.post.dto.PostDetailDto(p.id, p.title, p.content, " +
+            "u.nickname, u.username, p.createdAt, p.updatedAt, p.viewCount) from Post p join p.user u where p.id = :id")
+    Optional<PostDetailDto> findDetailById(@Param("id") Long id);
+
+    /*
+     * 댓글 수/최근 활동 시각 갱신 : 엔티티를 읽어서 값을 바꾸는 대신 UPDATE ... SET comment_count = comment_count + 1
+     * >> DB가 행 잠금 안에서 계산하므로 여러 명이 동시에 댓글을 달아도 숫자가 빠지지 않는다
+     */
+    @Modifying
+    @Query("update Post p set p.commentCount = p.commentCount + 1, " +
+            "p.lastCommentedAt = :at, p.lastActivityAt = :at where p.id = :postId")
+    int incrementCommentCount(@Param("postId") Long postId, @Param("at") LocalDateTime at);
+
+    // 댓글 삭제 후 호출 (flushAutomatically : 삭제한 댓글 DELETE 를 먼저 보내야 마지막 댓글 시각이 맞음)
+    @Modifying(flushAutomatically = true)
+    @Query("update Post p set p.commentCount = case when p.commentCount > 0 then p.commentCount - 1 else 0 end, " +
+            "p.lastCommentedAt = (select max(c.createdAt) from Comment c where c.post.id = :postId) where p.id = :postId")
+    int decrementCommentCount(@Param("postId") Long postId);
+
+    // 보정 작업(PostStatsRepairJob) : 번호 구간별로 댓글 수/마지막 댓글 시각을 실제 댓글에서 다시 계산
+    @Modifying
+    @Query("update Post p set " +
+            "p.commentCount = (select count(c) from Comment c where c.post.id = p.id), " +
+            "p.lastCommentedAt = (select max(c.createdAt) from Comment c where c.post.id = p.id) " +
+            "where p.id between :fromId and :toId")
+    int recountComments(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query("update Post p set p.lastActivityAt = coalesce(p.lastCommentedAt, p.createdAt) " +
+            "where p.id between :fromId and :toId")
+    int recomputeLastActivity(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // 인기글 목록에 새로 들어가는 글의 제목 (PostRankingService)
+    @Query("select p.title from Post p where p.id = :id")
+    Optional<String> findTitleById(@Param("id") Long id);
+
+    @Query("select max(p.id) from Post p")
+    Long findMaxId();
+
+    // 작성자별 게시글 수 (PostCountService가 주기적으로 캐시 값과 맞춰볼 때 사용)
+    @Query("select p.user.id as userId, count(p) as postCount from Post p group by p.user.id")
+    List<UserPostCount> countGroupByUser();
+
+    interface UserPostCount {
+        Long getUserId();
+        long getPostCount();
+    }
+
+    /*
+     * 게시글 삭제용 (엔티티를 읽지 않고 SQL 한 문장으로 처리)
+     * delete(post) 는 댓글 엔티티를 전부 읽어서 댓글마다 DELETE 를 보내므로 댓글이 많은 글은 몇 초씩 걸린다.
+     * 삭제 중(purging)인 글은 @SQLRestriction 으로 조회에서 빠지므로, 삭제/복구용 쿼리는 native 로 작성
+     */
+    @Query("select p.user.id from Post p where p.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    // 댓글이 많은 글 : 먼저 "삭제 중" 표시만 해서 목록/상세에서 바로 숨기고, 실제 삭제는 PostPurgeService 가 나눠서
+    @Modifying
+    @Query(value = "update post set purging = true where id = :id", nativeQuery = true)
+    int markPurging(@Param("id") Long id);
+
+    // 서버가 재시작되어 중간에 멈춘 삭제 작업 찾기
+    @Query(value = "select id from post where purging = true", nativeQuery = true)
+    List<Long> findPurgingIds();
+
+    @Modifying
+    @Query(value = "delete from post where id = :id", nativeQuery = true)
+    int deleteByIdInBulk(@Param("id") Long id);
 }
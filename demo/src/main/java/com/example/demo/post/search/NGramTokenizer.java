@@ -0,0 +1,46 @@
+package com.example.demo.post.search;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * 검색용 n-gram(2글자 단위) 토크나이저
+ * 한글은 띄어쓰기/조사 때문에 단어 단위로 자르면 "게시판에" 로 "게시판" 을 찾을 수 없다.
+ * >> 단어를 2글자씩 겹쳐서 자르면(bi-gram) 부분 문자열 검색(LIKE '%키워드%')과 비슷한 결과를 얻을 수 있음
+ * ex) "게시판에" -> [게시, 시판, 판에]
+ *     검색어 "게시판" -> [게시, 시판] 두 조각을 모두 가진 글 = "게시판"이 들어간 글
+ */
+public final class NGramTokenizer {
+
+    private static final int GRAM_SIZE = 2; // bi-gram
+
+    private NGramTokenizer() {
+    }
+
+    // 문자열을 n-gram 으로 잘라서 (조각 -> 등장횟수) 로 반환
+    public static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> grams = new HashMap<>();
+        if (text == null || text.isBlank()) {
+            return grams;
+        }
+        // 전각/반각 통일 + 영문 소문자화 (대소문자 구분 없이 검색)
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+
+        // 글자/숫자가 아닌 문자(공백, 문장부호)를 기준으로 단어 나누기
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.codePointCount(0, word.length()) < GRAM_SIZE) {
+                grams.merge(word, 1, Integer::sum); // 한 글자 단어는 그대로 사용
+                continue;
+            }
+            int[] codePoints = word.codePoints().toArray();
+            for (int i = 0; i + GRAM_SIZE <= codePoints.length; i++) {
+                grams.merge(new String(codePoints, i, GRAM_SIZE), 1, Integer::sum);
+            }
+        }
+        return grams;
+    }
+}
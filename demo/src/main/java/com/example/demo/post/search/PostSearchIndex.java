@@ -0,0 +1,326 @@
+package com.example.demo.post.search;
+
+import com.example.demo.post.domain.Post;
+import com.example.demo.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * 게시글 제목+내용 전문검색용 역색인(Inverted Index)
+ * LIKE '%키워드%' 는 인덱스를 못 타서 검색할 때마다 posts 테이블 전체를 읽는다.
+ * >> 미리 메모리에 "조각(n-gram) -> 그 조각을 가진 게시글 번호들" 표를 만들어두고 검색은 표만 본다.
+ * 게시글 작성/수정/삭제 시 PostService 가 indexAfterCommit()/removeAfterCommit() 을 호출해서 커밋된 뒤에 표를 갱신한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;     // 제목에 들어간 검색어는 내용보다 더 높은 점수
+    private static final int BUILD_BATCH_SIZE = 1000; // 시작할 때 DB에서 한 번에 읽어올 게시글 수
+
+    // 점수 높은 순 -> 같은 점수면 최신글(id 큰 글) 순
+    private static final Comparator<ScoredPost> BEST_FIRST =
+            Comparator.comparingDouble(ScoredPost::score).reversed()
+                    .thenComparing(Comparator.comparingLong(ScoredPost::postId).reversed());
+
+    private static final Map<String, Integer> REMOVED = Map.of(); // writesDuringRebuild 의 "삭제됨" 표시 (== 로 비교)
+
+    private final PostRepository postRepository;
+
+    // 검색에 쓰는 색인 (rebuild 가 끝나면 새로 만든 색인으로 통째로 바뀜), lock 안에서만 사용
+    private Index current = new Index();
+    // rebuild 도중에 들어온 작성/수정/삭제 (게시글id -> 새 조각들, 삭제면 REMOVED), rebuild 중이 아니면 null
+    private Map<Long, Map<String, Integer>> writesDuringRebuild;
+    // 검색(읽기)은 동시에 여러 개, 갱신(쓰기)은 하나씩
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false; // 시작 시 전체 색인이 끝났는지
+
+    /*
+     * 서버가 뜨면 DB의 게시글 전체를 id 순서대로 나눠 읽어서 색인 만들기
+     * 읽는 동안에도 글 작성/수정/삭제는 계속 들어온다. 이미 읽은 구간의 글이 수정/삭제되면 읽어둔 값이 옛 값이 되므로
+     * >> 새 색인은 따로 만들고, 그동안 들어온 변경은 기록해 뒀다가 마지막에 새 색인에 다시 적용한 뒤 바꿔 끼운다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                writesDuringRebuild = null; // 실패하면 지금 색인을 그대로 쓴다
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild.forEach((postId, grams) -> {
+                fresh.remove(postId);
+                if (grams != REMOVED) {
+                    fresh.add(postId, grams);
+                }
+            });
+            writesDuringRebuild = null;
+            current = fresh;
+            ready = true;
+            log.info("게시글 검색 색인 생성 완료: {}건, 조각 {}개", fresh.postGrams.size(), fresh.postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // DB 에서 읽어 새 색인 만들기 (아직 아무도 보지 않는 색인이라 락 없이 채운다)
+    private Index load() {
+        Index fresh = new Index();
+        long lastId = 0L;
+        Slice<Post> slice;
+        do {
+            slice = postRepository.findByIdGreaterThan(lastId,
+                    PageRequest.of(0, BUILD_BATCH_SIZE, Sort.by("id").ascending()));
+            for (Post post : slice.getContent()) {
+                fresh.add(post.getId(), gramsOf(post.getTitle(), post.getContent()));
+                lastId = post.getId();
+            }
+        } while (slice.hasNext());
+        return fresh;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 게시글 추가/수정 시 색인 갱신 (예전 조각은 지우고 새로 등록)
+    public void index(Post post) {
+        index(post.getId(), post.getTitle(), post.getContent());
+    }
+
+    private void index(Long postId, String title, String content) {
+        Map<String, Integer> grams = gramsOf(title, content);
+        lock.writeLock().lock();
+        try {
+            current.remove(postId);
+            current.add(postId, grams);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.put(postId, grams);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 제목 + 내용의 조각들 (제목 조각은 가중치를 곱해서)
+    private static Map<String, Integer> gramsOf(String title, String content) {
+        Map<String, Integer> grams = new HashMap<>();
+        NGramTokenizer.tokenize(title)
+                .forEach((gram, tf) -> grams.merge(gram, tf * TITLE_WEIGHT, Integer::sum));
+        NGramTokenizer.tokenize(content)
+                .forEach((gram, tf) -> grams.merge(gram, tf, Integer::sum));
+        return grams;
+    }
+
+    /*
+     * @Transactional 메서드 안에서 부를 때 사용 : 커밋이 끝난 뒤에 색인 갱신 (트랜잭션 밖이면 바로)
+     * >> 롤백되면 DB 는 그대로인데 색인만 바뀌는 일이 없도록, 커밋 전에 다른 요청이 아직 없는 글을 검색하지 않도록
+     */
+    public void indexAfterCommit(Post post) {
+        Long postId = post.getId();
+        String title = post.getTitle();     // 커밋 뒤에 엔티티를 다시 읽지 않도록 지금 값을 잡아둔다
+        String content = post.getContent();
+        afterCommit(() -> index(postId, title, content));
+    }
+
+    public void removeAfterCommit(Long postId) {
+        afterCommit(() -> remove(postId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 게시글 삭제 시 색인에서 빼기
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            current.remove(postId);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.put(postId, REMOVED);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * 검색하기
+     * 1. 검색어를 조각으로 자르고, 모든 조각을 가진 게시글만 후보로 남긴다 (교집합)
+     * 2. 점수 = Σ (조각 등장횟수 × 희귀도) >> 흔한 조각보다 드문 조각이 맞을 때 점수가 높다
+     * 3. offset + limit 개만 힙에 유지해서 전체 정렬 없이 해당 페이지만 뽑는다
+     */
+    public SearchResult search(String keyword, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = postingLists(keyword);
+            if (lists.isEmpty()) {
+                return SearchResult.EMPTY;
+            }
+
+            int postCount = current.postGrams.size();
+            int want = (int) Math.min(offset + limit, Integer.MAX_VALUE);
+            PriorityQueue<ScoredPost> top = new PriorityQueue<>(BEST_FIRST.reversed()); // 가장 낮은 점수가 맨 앞
+            long total = 0;
+
+            candidates:
+            for (Map.Entry<Long, Integer> candidate : lists.get(0).entrySet()) {
+                Long postId = candidate.getKey();
+                double score = 0;
+                for (Map<Long, Integer> posting : lists) {
+                    Integer tf = posting.get(postId);
+                    if (tf == null) {
+                        continue candidates; // 조각 하나라도 없으면 후보 탈락
+                    }
+                    score += tf * Math.log(1.0 + (double) postCount / posting.size());
+                }
+                total++;
+                top.offer(new ScoredPost(postId, score));
+                if (top.size() > want) {
+                    top.poll(); // 페이지 범위 밖(점수 낮은 글)은 버리기
+                }
+            }
+
+            List<ScoredPost> ranked = new ArrayList<>(top);
+            ranked.sort(BEST_FIRST);
+            if (offset >= ranked.size()) {
+                return new SearchResult(Collections.emptyList(), total);
+            }
+            List<Long> postIds = ranked.subList((int) offset, ranked.size()).stream()
+                    .map(ScoredPost::postId)
+                    .toList();
+            return new SearchResult(postIds, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Map<Long, Integer>> postingLists(String keyword) {
+        Map<String, Integer> queryGrams = NGramTokenizer.tokenize(keyword);
+        List<Map<Long, Integer>> lists = new ArrayList<>();
+        for (String gram : queryGrams.keySet()) {
+            Map<Long, Integer> posting = gram.codePointCount(0, gram.length()) == 1
+                    ? singleCharPosting(gram)
+                    : current.postings.get(gram);
+            if (posting == null || posting.isEmpty()) {
+                return Collections.emptyList(); // 조각 하나라도 없으면 결과 없음
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Map::size)); // 가장 드문 조각부터 비교해야 빠름
+        return lists;
+    }
+
+    // 한 글자 검색어는 2글자 조각과 바로 비교할 수 없으므로 그 글자를 포함한 조각들을 모두 합친다
+    // (전체 조각을 훑지 않고 글자 -> 조각 표에서 그 글자가 들어간 조각만 꺼낸다)
+    private Map<Long, Integer> singleCharPosting(String ch) {
+        Set<String> grams = current.gramsByChar.get(ch);
+        if (grams == null) {
+            return null;
+        }
+        Map<Long, Integer> merged = new HashMap<>();
+        for (String gram : grams) {
+            current.postings.get(gram).forEach((postId, tf) -> merged.merge(postId, tf, Integer::sum));
+        }
+        return merged;
+    }
+
+    /*
+     * 역색인 한 벌
+     * postings : 조각(gram) -> (게시글id -> 가중치 적용된 등장횟수)
+     * postGrams : 게시글id -> 그 글이 가진 조각들 (수정/삭제 시 예전 조각을 지우기 위해 보관)
+     * gramsByChar : 글자 -> 그 글자가 들어간 조각들 (한 글자 검색용, postings 에 있는 조각만)
+     */
+    private static final class Index {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, Map<String, Integer>> postGrams = new HashMap<>();
+        private final Map<String, Set<String>> gramsByChar = new HashMap<>();
+
+        void add(Long postId, Map<String, Integer> grams) {
+            grams.forEach((gram, tf) -> postings.computeIfAbsent(gram, g -> {
+                gram.codePoints().distinct().forEach(c ->
+                        gramsByChar.computeIfAbsent(Character.toString(c), k -> new HashSet<>()).add(gram));
+                return new HashMap<>();
+            }).put(postId, tf));
+            postGrams.put(postId, grams);
+        }
+
+        void remove(Long postId) {
+            Map<String, Integer> old = postGrams.remove(postId);
+            if (old == null) {
+                return;
+            }
+            for (String gram : old.keySet()) {
+                Map<Long, Integer> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(postId);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                        gram.codePoints().distinct().forEach(c -> {
+                            String ch = Character.toString(c);
+                            Set<String> grams = gramsByChar.get(ch);
+                            grams.remove(gram);
+                            if (grams.isEmpty()) {
+                                gramsByChar.remove(ch);
+                            }
+                        });
+                    }
+                }
+            }
+        }
+    }
+
+    private record ScoredPost(long postId, double score) {
+    }
+
+    // 검색 결과: 현재 페이지에 해당하는 게시글 번호들(점수순) + 전체 결과 수
+    public record SearchResult(List<Long> postIds, long total) {
+        static final SearchResult EMPTY = new SearchResult(Collections.emptyList(), 0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.post.service;
+
+import com.example.demo.post.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 게시글 수 캐시
+ * Page<Post>를 만들 때마다 Spring Data가 SELECT COUNT(*) 를 실행하는데, 목록 페이지 DB 시간의 대부분이 이것이다.
+ * >> 전체 게시글 수 / 작성자별 게시글 수를 메모리에 들고 있다가 작성/삭제 시 +1/-1 로 바로 갱신하고,
+ *    혹시 어긋난 값(다른 경로로 DB가 바뀐 경우 등)은 주기적으로 DB와 맞춰본다(reconcile).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostCountService {
+
+    private final PostRepository postRepository;
+
+    private final AtomicLong total = new AtomicLong();                        // 전체 게시글 수
+    private final Map<Long, AtomicLong> perUser = new ConcurrentHashMap<>(); // 작성자id -> 게시글 수
+
+    // 서버 시작 시 한 번 DB에서 읽어와서 채우기
+    @PostConstruct
+    public void init() {
+        reconcile();
+    }
+
+    // 게시글 작성 시 호출
+    public void increment(Long userId) {
+        total.incrementAndGet();
+        perUser.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    // 게시글 삭제 시 호출 (0 밑으로는 내려가지 않게)
+    public void decrement(Long userId) {
+        total.updateAndGet(n -> Math.max(0, n - 1));
+        AtomicLong count = perUser.get(userId);
+        if (count != null) {
+            count.updateAndGet(n -> Math.max(0, n - 1));
+        }
+    }
+
+    // 트랜잭션 안이면 커밋 후에, 밖이면 바로 (롤백된 작성/삭제가 개수에 들어가지 않게)
+    public void incrementAfterCommit(Long userId) {
+        afterCommit(() -> increment(userId));
+    }
+
+    public void decrementAfterCommit(Long userId) {
+        afterCommit(() -> decrement(userId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getCountByUser(Long userId) {
+        AtomicLong count = perUser.get(userId);
+        return count == null ? 0 : count.get();
+    }
+
+    // 주기적으로 DB의 실제 개수와 맞추기 (기본 5분)
+    @Scheduled(fixedDelayString = "${app.post-count.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.post-count.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long dbTotal = postRepository.count();
+        Map<Long, AtomicLong> fresh = new ConcurrentHashMap<>();
+        postRepository.countGroupByUser()
+                .forEach(row -> fresh.put(row.getUserId(), new AtomicLong(row.getPostCount())));
+
+        long before = total.getAndSet(dbTotal);
+        perUser.keySet().retainAll(fresh.keySet()); // 글이 없어진 작성자 제거
+        fresh.forEach((userId, count) ->
+                perUser.computeIfAbsent(userId, id -> new AtomicLong()).set(count.get()));
+        if (before != dbTotal) {
+            log.info("게시글 수 캐시 보정: {} -> {}", before, dbTotal);
+        }
+    }
+}
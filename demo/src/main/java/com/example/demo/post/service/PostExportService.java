@@ -0,0 +1,150 @@
+package com.example.demo.post.service;
+
+import com.example.demo.post.dto.PostExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/*
+ * 게시글 + 댓글 전체 내보내기 (NDJSON / CSV)
+ * findAllPosts() 처럼 List 로 전부 읽으면 게시글이 많을 때 메모리가 터진다(OOM).
+ * >> DB 커서로 한 행씩 읽어서(Stream) 바로 응답에 써버리고, 다 쓴 행은 버린다.
+ * - MySQL 은 fetch size 를 Integer.MIN_VALUE 로 줘야 결과를 한꺼번에 받지 않고 한 행씩 흘려보낸다 (app.export.fetch-size)
+ * - NDJSON 은 BoardImportService 가 읽는 형식과 같다 (한 줄 = 게시글 1개 + 댓글 배열) >> 내보낸 파일을 그대로 가져오기 가능
+ */
+@Service
+public class PostExportService {
+
+    private static final String EXPORT_QUERY =
+            "select new com.example.demo.post.dto.PostExportRow(" +
+            " p.id, p.title, p.content, u.username, u.nickname, p.createdAt," +
+            " c.id, c.content, cu.username, cu.nickname, c.createdAt)" +
+            " from Post p join p.user u left join p.comments c left join c.user cu" +
+            " order by p.id, c.id";
+
+    private static final String CSV_HEADER = "post_id,title,content,author,nickname,created_at," +
+            "comment_id,comment_content,comment_author,comment_nickname,comment_created_at\n";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public PostExportService(EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    // 한 줄에 게시글 1개, 댓글은 그 줄의 comments 배열 안에 (같은 글의 댓글은 연속으로 나오므로 이어서 씀)
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        try (Stream<PostExportRow> rows = streamRows();
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.setRootValueSeparator(null);
+            Long currentPostId = null;
+            for (Iterator<PostExportRow> it = rows.iterator(); it.hasNext(); ) {
+                PostExportRow row = it.next();
+                if (!row.getPostId().equals(currentPostId)) {
+                    if (currentPostId != null) {
+                        endPost(json);
+                    }
+                    startPost(json, row);
+                    currentPostId = row.getPostId();
+                }
+                if (row.getCommentId() != null) {
+                    json.writeStartObject();
+                    json.writeNumberField("id", row.getCommentId());
+                    json.writeStringField("content", row.getCommentContent());
+                    json.writeStringField("author", row.getCommentUsername());
+                    json.writeStringField("nickname", row.getCommentNickname());
+                    json.writeStringField("createdAt", format(row.getCommentCreatedAt()));
+                    json.writeEndObject();
+                }
+            }
+            if (currentPostId != null) {
+                endPost(json);
+            }
+        }
+    }
+
+    // 한 줄에 (게시글, 댓글) 1쌍, 댓글 없는 글은 댓글 칸을 비운 1줄
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<PostExportRow> rows = streamRows()) {
+            writer.write('\uFEFF'); // 엑셀에서 한글이 깨지지 않도록 BOM
+            writer.write(CSV_HEADER);
+            rows.forEach(row -> {
+                try {
+                    writer.write(String.join(",",
+                            Objects.toString(row.getPostId()), csv(row.getTitle()), csv(row.getContent()),
+                            csv(row.getUsername()), csv(row.getNickname()), csv(format(row.getCreatedAt())),
+                            Objects.toString(row.getCommentId(), ""), csv(row.getCommentContent()),
+                            csv(row.getCommentUsername()), csv(row.getCommentNickname()),
+                            csv(format(row.getCommentCreatedAt()))));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // 다운로드 도중 연결이 끊긴 경우 등
+                }
+            });
+        }
+        writer.flush();
+    }
+
+    private Stream<PostExportRow> streamRows() {
+        return entityManager.createQuery(EXPORT_QUERY, PostExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private void startPost(JsonGenerator json, PostExportRow row) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", row.getPostId());
+        json.writeStringField("title", row.getTitle());
+        json.writeStringField("content", row.getContent());
+        json.writeStringField("author", row.getUsername());
+        json.writeStringField("nickname", row.getNickname());
+        json.writeStringField("createdAt", format(row.getCreatedAt()));
+        json.writeArrayFieldStart("comments");
+    }
+
+    private void endPost(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static String format(LocalDateTime time) {
+        return time == null ? null : time.toString(); // ISO-8601 (가져오기에서 그대로 읽힘)
+    }
+
+    // 쉼표/따옴표/줄바꿈이 들어간 값은 큰따옴표로 감싸고, 안의 따옴표는 두 번 씀
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
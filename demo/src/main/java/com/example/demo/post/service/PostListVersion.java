@@ -0,0 +1,51 @@
+package com.example.demo.post.service;
+
+import com.example.demo.common.cache.LruTtlCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 게시글 목록 버전 번호 (목록 화면 ETag 용)
+ * 목록에 보이는 값(글 추가/삭제, 제목, 댓글 수, 활동순 순서)이 바뀔 수 있는 쓰기마다 1씩 올린다.
+ * >> 버전이 같으면 목록이 그대로라는 뜻이므로 DB 를 읽지 않고 304 로 응답할 수 있다.
+ * - 커밋이 끝난 뒤에 올린다 (커밋 전에 올리면 새 버전 번호로 옛 목록을 그린 응답이 캐시될 수 있음)
+ * - 서버를 다시 켜면 0부터 시작하므로 시작 시각을 같이 써서 예전 ETag 와 겹치지 않게 한다
+ * - 버전이 오르면 예전 버전으로 그려둔 목록 조각(postRowsFragmentCache)은 다시 쓰이지 않으므로 같이 비운다
+ */
+@Component
+public class PostListVersion {
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private final LruTtlCache<String, String> postRowsFragmentCache;
+
+    public PostListVersion(LruTtlCache<String, String> postRowsFragmentCache) {
+        this.postRowsFragmentCache = postRowsFragmentCache;
+    }
+
+    public String current() {
+        return startedAt + "-" + version.get();
+    }
+
+    // 트랜잭션 안이면 커밋 후에, 밖이면 바로 올리기
+    public void bumpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump();
+                }
+            });
+            return;
+        }
+        bump();
+    }
+
+    private void bump() {
+        version.incrementAndGet();
+        postRowsFragmentCache.clear();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.post.service;
+
+import com.example.demo.comment.repository.CommentRepository;
+import com.example.demo.post.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/*
+ * 댓글이 아주 많은 게시글의 백그라운드 삭제
+ * 댓글 수천 개를 DELETE 한 번에 지우면 그동안 행 잠금이 길게 잡혀서 다른 요청이 기다린다.
+ * >> 게시글은 "삭제 중(purging)" 표시만 해서 바로 숨기고(요청은 즉시 응답),
+ *    댓글은 chunk-size 개씩 각각 짧은 트랜잭션으로 지운 뒤 마지막에 게시글을 지운다.
+ * 서버가 중간에 꺼지면 재시작 시 purging 으로 남은 글을 이어서 지운다.
+ */
+@Slf4j
+@Service
+public class PostPurgeService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PostPurgeService(PostRepository postRepository,
+                            CommentRepository commentRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.purge.chunk-size:1000}") int chunkSize) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    // 백그라운드 스레드에서 실행 (@EnableAsync), 호출한 요청은 기다리지 않는다
+    @Async
+    public void purge(Long postId) {
+        purgeNow(postId);
+    }
+
+    // 재시작 전에 끝나지 못한 삭제 이어서 하기
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        List<Long> postIds = postRepository.findPurgingIds();
+        if (!postIds.isEmpty()) {
+            log.info("중단된 게시글 삭제 {}건 이어서 진행", postIds.size());
+            postIds.forEach(this::purgeNow);
+        }
+    }
+
+    private void purgeNow(Long postId) {
+        try {
+            long deleted = 0;
+            int chunk;
+            do {
+                Integer count = transactionTemplate.execute(status -> commentRepository.deleteChunkByPostId(postId, chunkSize));
+                chunk = count == null ? 0 : count;
+                deleted += chunk;
+            } while (chunk == chunkSize);
+            transactionTemplate.executeWithoutResult(status -> postRepository.deleteByIdInBulk(postId));
+            log.info("게시글 {}번 삭제 완료 (댓글 {}개)", postId, deleted);
+        } catch (RuntimeException e) {
+            // purging 표시는 남아있으므로 다음 재시작 때 다시 시도된다
+            log.error("게시글 {}번 백그라운드 삭제 실패", postId, e);
+        }
+    }
+}
@@ -1,18 +1,36 @@
 package com.example.demo.post.service;
 
+import com.example.demo.comment.dto.CommentPage;
+import com.example.demo.comment.repository.CommentRepository;
+import com.example.demo.common.cache.LruTtlCache;
+import com.example.demo.common.datasource.PrimaryReader;
 import com.example.demo.post.domain.Post;
+import com.example.demo.post.dto.PostDetailDto;
+import com.example.demo.post.dto.PostSummaryDto;
+import com.example.demo.post.ranking.PostRankingService;
 import com.example.demo.post.repository.PostRepository;
+import com.example.demo.post.search.PostSearchIndex;
+import com.example.demo.post.view.CommentFragments;
 import com.example.demo.user.domain.User;
 import lombok.RequiredArgsConstructor;
-
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;  // 여러개의 결과값을 담을 때 사용 >> List<Post>
+import java.util.Map;
 import java.util.Optional; // 값이 있거나 없을 수도 있을 수도 있을 때 사용 >> Optional<Post> : 찾는게 없어도 ㄱㅊㄱㅊ
 
 @Service //서비스 계층임을 표시! (스프링이 관리한다)
@@ -22,6 +40,22 @@ public class PostService {
     private final PostRepository postRepository; // DB 접근용 Repository
     //서비스가 DB 일을 하려면 Repository 도구가 필요하니, 한 번 주입받아(생성자 주입) 평생 안전하게 쓰겠다!!
     // PostRepository 인터페이스를 사용해 postRepository를 생성
+    private final PostSearchIndex postSearchIndex; // 제목+내용 검색용 역색인 (작성/수정/삭제 시 같이 갱신)
+    private final PostCountService postCountService; // 게시글 수 캐시 (페이징할 때 COUNT 쿼리 대신 사용)
+    private final LruTtlCache<Long, PostDetailDto> postDetailCache; // 상세화면 게시글 캐시 (수정/삭제 시 무효화)
+    private final LruTtlCache<Long, CommentPage> commentListCache; // 게시글 삭제 시 댓글 목록 캐시도 무효화
+    private final LruTtlCache<Long, CommentFragments> commentFragmentCache; // 게시글 삭제 시 그려둔 댓글 HTML 도 무효화
+    private final CommentRepository commentRepository; // 게시글 삭제 시 댓글 일괄 삭제
+    private final PostPurgeService postPurgeService;   // 댓글이 아주 많은 글은 백그라운드에서 나눠 삭제
+    private final PostRankingService postRankingService; // 인기글 순위 (수정/삭제 시 제목 변경/제거)
+    private final PostListVersion postListVersion; // 목록 화면 ETag 용 버전 (목록이 바뀌는 쓰기마다 +1)
+    private final PrimaryReader primaryReader; // 공유 캐시를 채우는 조회는 primary 에서
+
+    @Value("${app.purge.async-threshold:1000}")
+    private long purgeAsyncThreshold; // 댓글이 이 개수보다 많으면 백그라운드 삭제
+
+    @Value("${app.search.fulltext:false}")
+    private boolean fullTextSearch; // 색인 준비 전 검색을 LIKE 대신 FULLTEXT 인덱스로 (MySQL)
 
     // 게시글 작성하기
     public Post createPost(String title, String content, User user){
@@ -40,10 +74,15 @@ public class PostService {
         }
         Post post = new Post(title,content,user);
         /*Post Entity의 Post생성자 사용 > new Post를 post에 저장*/
-        return postRepository.save(post); // DB에 저장, (post)는 전송 방식이 아닌 Post post변수
+        Post saved = postRepository.save(post); // DB에 저장, (post)는 전송 방식이 아닌 Post post변수
+        postSearchIndex.indexAfterCommit(saved); // 저장된 글을 검색 색인에도 추가 (커밋 후)
+        postListVersion.bumpAfterCommit();
+        postCountService.incrementAfterCommit(user.getId()); // 게시글 수 +1 (커밋 후)
+        return saved;
     }
 
     // 전체 게시글 조회 기능
+    // 게시글 전체를 한 번에 메모리에 올리므로 많을 때는 쓰지 말 것 >> 전체 내보내기는 PostExportService(한 행씩 스트리밍)
     public List<Post> findAllPosts(){
         /*List<Post> → Post 객체들을 여러 개 담을 수 있는 상자
         즉, “게시글(Post)들을 모아둔 목록”을 의미
@@ -53,7 +92,16 @@ public class PostService {
 
     // 특정 ID로 게시글 하나만 조회하는 기능 >> 게시글 번호로 찾기
     public Optional<Post> findPostById(Long id) {
-        return postRepository.findById(id);
+        return postRepository.findWithUserById(id); // 상세화면에서 작성자 닉네임을 쓰므로 작성자까지 JOIN
+    }
+
+    // 게시글 상세화면용 조회 (캐시에 있으면 DB 조회 없이 바로 반환)
+    // 캐시를 채우는 조회는 primary 에서 (replica 가 늦으면 수정 전 글이 캐시에 들어가 모든 사용자에게 보이므로)
+    public Optional<PostDetailDto> getPostDetail(Long id) {
+        return Optional.ofNullable(postDetailCache.getOrLoad(id,
+                key -> primaryReader.read(() -> postRepository.findDetailById(key).orElse(null))));
+        /*인기글은 글 1번 수정될 동안 수천 번 조회되므로 매번 DB에 갈 필요가 없다
+        * 수정/삭제될 때 updatePost/deletePost 에서 해당 번호만 캐시에서 지운다*/
     }
 
     // 게시글 수정하기
@@ -62,7 +110,12 @@ public class PostService {
         return postRepository.findById(id) //id로 Post찾기 → Optional<Post> 못찾았으면 → Optional<Empty>
                 .map( post -> {// Optional 안에 Post가 있으면 실행 .map은 if문을 짧게 줄여쓴 Optional이 가진 메서드
                     post.update(title, content);// Post 엔티티의 update 메서드 호출
-                    return postRepository.save(post);// 수정된 Post를 반환
+                    Post saved = postRepository.save(post);
+                    postSearchIndex.indexAfterCommit(saved); // 바뀐 제목/내용으로 색인 다시 만들기 (커밋 후)
+                    postDetailCache.invalidateAfterCommit(id); // 상세화면 캐시에서 예전 내용 지우기 (커밋 후)
+                    postRankingService.renameAfterCommit(id, title); // 인기글 목록에 있으면 새 제목으로 (커밋 후)
+                    postListVersion.bumpAfterCommit();
+                    return saved;// 수정된 Post를 반환
                 });
     }
     /*👉 "id로 DB에서 Post를 찾고,
@@ -70,20 +123,40 @@ public class PostService {
      수정된 Post를 다시 Optional에 담아 반환한다."*/
 
     // 게시글 삭제하기
+    @Transactional
     public void deletePost(Long id){ //삭제는 성공or실패 만 중요하기에 돌려줄 값이 없으므로 void 사용!
         // 반환할 값이 없으므로 Optional도 사용안함
         //Long id >> 게시글 pk값
-        Post post = postRepository.findById(id)
-         /*JPA가 DB에서 id에 해당하는 Post를 찾아 Optional<Post>로 돌려준다
-        postRepository가 이미 Optional를 사용할 수 있기에 Optional선언안해도 사용 가능*/
+        /* 예전 방식 : findById 로 Post 를 읽고 postRepository.delete(post)
+        >> Post.comments 가 CascadeType.REMOVE 라서 JPA가 댓글을 전부 읽어온 뒤 댓글마다 DELETE 를 한 번씩 보냄
+        >> 댓글이 수천 개인 글은 삭제 한 번에 몇 초씩 행이 잠긴다
+        지금 방식 : 엔티티를 읽지 않고 DELETE ... WHERE post_id = ? 한 문장으로 댓글을 지운 뒤 게시글 삭제*/
+        Long userId = postRepository.findUserIdById(id) // 게시글 수 캐시(-1)에 쓸 작성자 번호만 조회
                 .orElseThrow(() -> new IllegalArgumentException(
                         "게시글번호 " + id + "번에 해당하는 게시글이 존재하지 않습니다."
                 ));
                 //.orElseThrow :Optional이 비어있을 경우(해당 게시글의id 가 없는경우 실행)
                 //바로 던져서 예외처리 할거임
-        postRepository.delete(post);
-        // JPA가 실제 SQL: DELETE FROM posts WHERE id=? 실행
-        // DB에서 해당 게시글 삭제
+        if (commentRepository.countByPostId(id) > purgeAsyncThreshold) {
+            // 댓글이 아주 많으면 "삭제 중" 표시만 하고 바로 응답, 실제 삭제는 커밋 후 백그라운드에서 나눠서
+            postRepository.markPurging(id);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    postPurgeService.purge(id);
+                }
+            });
+        } else {
+            commentRepository.deleteByPostIdInBulk(id);
+            postRepository.deleteByIdInBulk(id);
+        }
+        postSearchIndex.removeAfterCommit(id); // 검색 색인에서도 제거 (커밋 후, 롤백되면 그대로)
+        postRankingService.removeAfterCommit(id); // 인기글 순위에서도 제거 (커밋 후)
+        postListVersion.bumpAfterCommit();
+        postDetailCache.invalidateAfterCommit(id);  // 상세화면 캐시에서 제거
+        commentListCache.invalidateAfterCommit(id); // 같이 삭제된 댓글 목록 캐시도 제거
+        commentFragmentCache.invalidateAfterCommit(id); // 그려둔 댓글 HTML 도 제거
+        postCountService.decrementAfterCommit(userId); // 게시글 수 -1 (커밋 후, 롤백되면 그대로)
     }
 
     // 작성자로 게시글 찾기(Post의FK값, User의 PK값)
@@ -98,7 +171,9 @@ public class PostService {
     }
 
     //페이지 나누기(Pageable 사용)
-    public Page<Post> findAllWithPaging(Pageable pageable){
+    //목록 행은 PostFragmentRenderer 가 목록 버전을 키로 그려서 모든 사용자에게 공유하므로 primary 에서 조회
+    //(replica 가 늦으면 방금 쓴/지운 글이 빠진 목록이 새 버전 키로 캐시돼 다음 쓰기까지 보인다)
+    public Page<PostSummaryDto> findAllWithPaging(Pageable pageable){
        /*Page : JPA에서 제공하는 '클래스' List와 달리
        글목록+부가정보(실제 글 목록,전체 글 개수, 전체 페이지수,페이지 번호...)등을 함께 담아줌
        * >> Page<Post> 는 게시글 목록을 페이지 다누이로 담는 상자!*/
@@ -107,36 +182,105 @@ public class PostService {
         PageRequest.of(0,10, Sort.by("id").descending());
         //페이지 설정하기 (0번째 페이지(첫번째 페이지),한페이지에 10개, id기준 내림차순 정렬하기)
         // 0번째 페이지는 html에서+1 하여 사용자에게 1페이지 부터 보이게 하기! 프로그램은 0부터 시작
-        return postRepository.findAll(pageable);
+        // COUNT(*) 없이 해당 페이지 글만 조회하고, 전체 개수는 캐시된 값으로 Page를 만든다
+        // 목록 화면은 글번호/제목/닉네임만 쓰므로 엔티티 대신 DTO(PostSummaryDto)로 조회
+        return primaryReader.read(() ->
+                new PageImpl<>(postRepository.findSummaries(pageable), pageable, postCountService.getTotal()));
+    }
+
+    //최근 활동순(새 댓글이 달린 글이 위로) 페이지, 정렬은 쿼리에 고정 (last_activity_at desc, id desc 인덱스 사용)
+    //목록 행 캐시에 들어가므로 findAllWithPaging 처럼 primary 에서
+    public Page<PostSummaryDto> findAllByActivity(Pageable pageable){
+        return primaryReader.read(() ->
+                new PageImpl<>(postRepository.findSummariesByActivity(pageable), pageable, postCountService.getTotal()));
     }
 
     // 제목+내용 키워드로 검색하기
-    public Page<Post> searchPostsByKeyword(String keyword, Pageable pageable){
-        return postRepository.findByTitleContainingOrContentContaining(keyword,keyword,pageable);
+    @Transactional(readOnly = true)
+    public Page<PostSummaryDto> searchPostsByKeyword(String keyword, Pageable pageable){
+        if (!postSearchIndex.isReady()) {
+            // 서버 시작 직후 색인이 아직 만들어지는 중이면 DB 검색으로 대신 처리 (FULLTEXT 인덱스, 없으면 LIKE)
+            if (fullTextSearch) {
+                String query = fullTextPhrase(keyword);
+                List<Long> ids = postRepository.findIdsByFullText(query, pageable.getPageSize(), pageable.getOffset());
+                return new PageImpl<>(orderByIds(postRepository.findSummariesByIdIn(ids), ids), pageable,
+                        postRepository.countByFullText(query));
+            }
+            return postRepository.searchSummaries(keyword,pageable);
+        }
         /*
       - keyword : 사용자가 검색창에 입력한 문자열
-      - postRepository가 SQL 실행 시
-        SELECT * FROM posts
-        WHERE title LIKE '%keyword%'
-           OR content LIKE '%keyword%'
-      - 결과 : 제목이나 내용에 keyword가 들어간 모든 게시글 반환
+      - 예전 방식 : SELECT * FROM posts WHERE title LIKE '%keyword%' OR content LIKE '%keyword%'
+        >> 검색할 때마다 테이블 전체를 읽어서 느림
+      - 지금 방식 : 메모리 색인(PostSearchIndex)에서 점수순으로 이번 페이지의 게시글 번호만 구하고
+        >> DB에서는 그 번호의 글만 PK로 가져온다 (정렬은 pageable의 Sort 대신 검색 점수순)
     */
-        /*github 테스트용 글*/
+        PostSearchIndex.SearchResult result =
+                postSearchIndex.search(keyword, pageable.getOffset(), pageable.getPageSize());
+        List<PostSummaryDto> posts = orderByIds(postRepository.findSummariesByIdIn(result.postIds()), result.postIds());
+        return new PageImpl<>(posts, pageable, result.total());
+    }
+
+    //커서 페이징 : afterId(이전 묶음의 마지막 글 번호)보다 작은 글을 최신순으로 size개
+    //목록 행 캐시에 들어가므로 findAllWithPaging 처럼 primary 에서
+    public Slice<PostSummaryDto> findAllAfter(Long afterId, int size){
+        return primaryReader.read(() -> postRepository.findSummariesBefore(afterId, newestFirst(size)));
+    }
+
+    //작성자 ID 검색의 커서 페이징 버전
+    @Transactional(readOnly = true)
+    public Slice<PostSummaryDto> findPostsByUserIdAfter(Long userId, Long afterId, int size){
+        return postRepository.findSummariesByUserIdBefore(userId, afterId, newestFirst(size));
+    }
+
+    //글번호 검색의 커서 페이징 버전 (결과는 최대 1개라서 커서보다 작은 번호일 때만 보여준다)
+    @Transactional(readOnly = true)
+    public Slice<PostSummaryDto> findPostsByPostIdAfter(Long id, Long afterId, int size){
+        if (id >= afterId) {
+            return new SliceImpl<>(List.of(), newestFirst(size), false);
+        }
+        return findPostsByPostId(id, newestFirst(size));
+    }
+
+    private Pageable newestFirst(int size){
+        return PageRequest.of(0, size, Sort.by("id").descending());
+    }
+
+    // IN 조회는 순서를 보장하지 않으므로 색인이 준 순서(점수순)대로 다시 정렬
+    // 검색어 전체를 한 구절로 ("..." : 조각이 이 순서대로 붙어 있는 글만 >> LIKE '%검색어%' 와 비슷한 결과)
+    private String fullTextPhrase(String keyword){
+        return '"' + keyword.replace("\"", " ") + '"';
+    }
+
+    private List<PostSummaryDto> orderByIds(List<PostSummaryDto> posts, List<Long> ids){
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return posts.stream()
+                .sorted(Comparator.comparing(post -> rank.get(post.getId())))
+                .toList();
     }
 
     //작성자 ID로 게시글 검색하기
-    public Page<Post> findPostsByUserId(Long userId,Pageable pageable){
+    @Transactional(readOnly = true)
+    public Page<PostSummaryDto> findPostsByUserId(Long userId,Pageable pageable){
         /*매개변수 userId는 검색창에서 입력받은 작성자의 ID값
-        * postRepository.findByUserId(userId)를 호출해서 user_id 컬럼에 해당값인 게시글 모두 가져오기
-        * SELECT * FROM post WHERE user_id = ?;*/
-        return postRepository.findByUserId(userId,pageable);
+        * postRepository.findSummariesByUserId(userId)를 호출해서 user_id 컬럼에 해당값인 게시글을 페이지만큼 가져오기
+        * SELECT ... FROM post WHERE user_id = ? ORDER BY id DESC LIMIT ?;
+        * 전체 개수는 COUNT 쿼리 대신 작성자별 게시글 수 캐시 사용*/
+        return new PageImpl<>(postRepository.findSummariesByUserId(userId,pageable), pageable,
+                postCountService.getCountByUser(userId));
     }
 
     //글번호(ID) 로 검색하기(list로 반환해서 검색 결과 일관성을 유지시키기)
-    public Page<Post> findPostsByPostId(Long id,Pageable pageable){
+    @Transactional(readOnly = true)
+    public Page<PostSummaryDto> findPostsByPostId(Long id,Pageable pageable){
         /*매개변수 id 는 검색창에서 입력받은 게시글번호 즉 Post엔티티의 PK값
-        * postRepository.findAllById(id)를 호출해서 id값이 일치하는 게시글을 List<Post>로 반환
-        * 보통 결과는 한개지만 , 검색기능에서는 항상 List로 다뤄서 일관성을 이루기!!*/
-        return postRepository.findAllById(id,pageable);
+        * postRepository.findSummariesById(id)를 호출해서 id값이 일치하는 게시글을 List로 반환
+        * 보통 결과는 한개지만 , 검색기능에서는 항상 List로 다뤄서 일관성을 이루기!!
+        * 결과가 최대 1개라서 COUNT 쿼리 없이 결과 개수를 그대로 전체 개수로 사용*/
+        List<PostSummaryDto> posts = postRepository.findSummariesById(id);
+        return new PageImpl<>(pageable.getOffset() == 0 ? posts : List.of(), pageable, posts.size());
     }
 }
@@ -0,0 +1,68 @@
+package com.example.demo.post.service;
+
+import com.example.demo.post.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * 게시글 댓글 수 / 최근 활동 시각 보정
+ * 평소에는 댓글 작성/삭제 때 게시글 행의 comment_count 를 +1/-1 로 바로 고친다.
+ * 그래도 다른 경로(직접 SQL, 실패한 작업 등)로 어긋날 수 있어서 주기적으로 댓글 테이블 기준으로 다시 계산한다.
+ * - 글 번호 chunk-size 개 범위씩 각각 짧은 트랜잭션으로 (전체를 한 번에 UPDATE 하면 잠금이 길어짐)
+ * - 서버 시작 시에도 한 번 실행 (기존 글의 첫 값은 V2 마이그레이션이 채우고, 여기서는 어긋난 값만 맞춘다)
+ */
+@Slf4j
+@Service
+public class PostStatsRepairJob {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PostListVersion postListVersion;
+    private final int chunkSize;
+
+    public PostStatsRepairJob(PostRepository postRepository,
+                              TransactionTemplate transactionTemplate,
+                              PostListVersion postListVersion,
+                              @Value("${app.post-stats.repair-chunk-size:1000}") int chunkSize) {
+        this.postRepository = postRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.postListVersion = postListVersion;
+        this.chunkSize = chunkSize;
+    }
+
+    // 시작 직후 백그라운드에서 한 번 (요청 처리는 기다리지 않음)
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairOnStartup() {
+        repair();
+    }
+
+    // 주기적으로 다시 맞추기 (기본 1시간)
+    @Scheduled(fixedDelayString = "${app.post-stats.repair-interval-ms:3600000}",
+            initialDelayString = "${app.post-stats.repair-interval-ms:3600000}")
+    public void repair() {
+        Long maxId = postRepository.findMaxId();
+        if (maxId == null) {
+            return; // 글이 하나도 없음
+        }
+        long changed = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            long from = fromId;
+            long to = fromId + chunkSize - 1;
+            Integer count = transactionTemplate.execute(status -> {
+                int recounted = postRepository.recountComments(from, to);
+                postRepository.recomputeLastActivity(from, to);
+                return recounted;
+            });
+            changed += count == null ? 0 : count;
+        }
+        postListVersion.bumpAfterCommit(); // 댓글 수/활동순이 바뀌었을 수 있음
+        log.info("게시글 댓글 수/최근 활동 보정 완료: 글 번호 1~{} (게시글 {}건 다시 계산)", maxId, changed);
+    }
+}
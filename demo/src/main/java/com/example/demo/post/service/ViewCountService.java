@@ -0,0 +1,136 @@
+package com.example.demo.post.service;
+
+import com.example.demo.common.cache.LruTtlCache;
+import com.example.demo.post.dto.PostDetailDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 게시글 조회수 (모아서 나중에 쓰기, write-behind)
+ * 상세화면을 열 때마다 UPDATE post SET view_count = view_count + 1 을 하면
+ * 인기글은 같은 행에 잠금이 몰려서 읽기 요청이 전부 쓰기 대기줄에 서게 된다.
+ * >> 조회는 메모리의 LongAdder(스레드마다 칸을 나눠 더하는 카운터, 동시에 더해도 서로 안 기다림)에만 더하고,
+ *    flush-interval-ms 마다 쌓인 만큼을 글별 UPDATE 한 번씩, 배치로 묶어서 DB에 보낸다.
+ * - 서버가 갑자기 죽으면 아직 DB에 안 쓴 조회수는 사라진다 (최대 flush-interval-ms 동안의 조회 또는 max-pending 건)
+ *   쌓인 조회가 max-pending 을 넘으면 주기를 기다리지 않고 바로 한 번 더 쓴다
+ * - 정상 종료 시에는 마지막으로 한 번 더 쓴다 (@PreDestroy)
+ */
+@Slf4j
+@Service
+public class ViewCountService {
+
+    private static final String FLUSH_SQL = "update post set view_count = view_count + ? where id = ?";
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final LongAdder unflushed = new LongAdder();          // 아직 DB에 안 쓴 조회수 합계
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock(); // 주기 실행/즉시 실행/종료 시 실행이 겹치지 않게
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler taskScheduler;
+    private final LruTtlCache<Long, PostDetailDto> postDetailCache;
+    private final long maxPending;
+
+    public ViewCountService(JdbcTemplate jdbcTemplate,
+                            TaskScheduler taskScheduler,
+                            LruTtlCache<Long, PostDetailDto> postDetailCache,
+                            @Value("${app.view-count.max-pending:10000}") long maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskScheduler = taskScheduler;
+        this.postDetailCache = postDetailCache;
+        this.maxPending = maxPending;
+    }
+
+    // 상세화면 조회 1회 (DB 접근 없음)
+    public void increment(Long postId) {
+        counters.computeIfAbsent(postId, id -> new Counter()).views.increment();
+        unflushed.increment();
+        if (unflushed.sum() >= maxPending && earlyFlushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now()); // 요청 스레드는 기다리지 않음
+        }
+    }
+
+    // 아직 DB에 안 쓴 조회수 (화면에는 DB 값 + 이 값을 보여준다)
+    public long pending(Long postId) {
+        Counter counter = counters.get(postId);
+        return counter == null ? 0 : counter.views.sum() - counter.flushed;
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-count.flush-interval-ms:5000}",
+            initialDelayString = "${app.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            earlyFlushScheduled.set(false);
+            List<Long> ids = new ArrayList<>();
+            List<Object[]> args = new ArrayList<>();
+            for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+                Counter counter = entry.getValue();
+                long delta = counter.views.sum() - counter.flushed;
+                if (delta > 0) {
+                    ids.add(entry.getKey());
+                    args.add(new Object[]{delta, entry.getKey()});
+                } else {
+                    removeIdle(entry.getKey(), counter);
+                }
+            }
+            if (args.isEmpty()) {
+                return;
+            }
+
+            jdbcTemplate.batchUpdate(FLUSH_SQL, args); // 글 수만큼의 UPDATE 를 한 번에 전송
+
+            long written = 0;
+            for (int i = 0; i < ids.size(); i++) {
+                long delta = (long) args.get(i)[0];
+                counters.get(ids.get(i)).flushed += delta; // flush 중에는 이 스레드만 flushed 를 바꾼다
+                unflushed.add(-delta);
+                written += delta;
+                // 캐시에 들어있는 상세화면 DTO 의 조회수도 DB 와 같게 올려두기 (캐시를 지우면 인기글마다 다시 조회하게 됨)
+                postDetailCache.computeIfPresent(ids.get(i), post -> post.withViewCount(post.getViewCount() + delta));
+            }
+            log.debug("조회수 {}건 반영 (게시글 {}개)", written, ids.size());
+        } catch (RuntimeException e) {
+            // 쓰지 못한 조회수는 메모리에 그대로 남아 있으므로 다음 주기에 다시 시도된다
+            log.warn("조회수 반영 실패, 다음 주기에 재시도", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 이번 주기에 새 조회가 없던 글은 메모리에서 뺀다 (조회된 적 있는 글이 계속 쌓이지 않게)
+    private void removeIdle(Long postId, Counter counter) {
+        if (!counters.remove(postId, counter)) {
+            return;
+        }
+        // 빼는 사이에 예전 카운터에 더해진 조회는 새 카운터로 옮겨서 잃어버리지 않기
+        long late = counter.views.sum() - counter.flushed;
+        if (late > 0) {
+            counters.computeIfAbsent(postId, id -> new Counter()).views.add(late);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static final class Counter {
+        private final LongAdder views = new LongAdder(); // 누적 조회수 (줄이지 않음, 더하는 쪽끼리 경쟁 없음)
+        private long flushed;                             // 그중 DB에 쓴 만큼 (flushLock 안에서만 변경)
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.post.view;
+
+import java.util.List;
+
+/*
+ * 게시글 하나의 댓글 조각 묶음 (commentFragmentCache 의 값)
+ * version : 그릴 때 쓴 댓글 목록의 버전 (댓글 수 + 마지막 작성/수정 시각)
+ * >> 꺼낼 때 지금 댓글 목록의 버전과 다르면 쓰지 않고 다시 그린다
+ */
+public record CommentFragments(String version, List<RenderedComment> comments) {
+}
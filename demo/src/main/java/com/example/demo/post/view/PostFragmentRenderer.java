@@ -0,0 +1,80 @@
+package com.example.demo.post.view;
+
+import com.example.demo.comment.dto.CommentViewDto;
+import com.example.demo.common.cache.LruTtlCache;
+import com.example.demo.post.dto.PostSummaryDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * 목록 표의 행(tr)들과 상세화면 댓글을 HTML 조각으로 미리 그려서 캐시 (templates/post/fragments.html)
+ * 목록/댓글 반복 부분을 요청마다 타임리프로 그리는 비용이 커서, 내용이 그대로면 그려둔 문자열을 그대로 쓴다.
+ * - 사용자마다 같은 부분만 그린다 (로그인 사용자별 버튼은 list.html/detail.html 에서 매번 그림)
+ * - 요청 정보 없이(일반 Context) 그리므로 조각 안에서 @{...} 링크와 #authentication 은 쓸 수 없다
+ *   >> 링크는 contextPath 를 직접 붙여 만든다
+ * - 무효화 : 목록은 PostListVersion 버전이 키에 들어가고 버전이 오르면 캐시도 비움,
+ *           댓글은 CommentService/PostService 의 쓰기에서 게시글 번호로 지우고, 꺼낼 때 버전도 비교
+ */
+@Component
+public class PostFragmentRenderer {
+
+    private static final String TEMPLATE = "post/fragments";
+
+    private final ITemplateEngine templateEngine;
+    private final LruTtlCache<String, String> postRowsFragmentCache;
+    private final LruTtlCache<Long, CommentFragments> commentFragmentCache;
+    private final String contextPath;
+
+    public PostFragmentRenderer(ITemplateEngine templateEngine,
+                                LruTtlCache<String, String> postRowsFragmentCache,
+                                LruTtlCache<Long, CommentFragments> commentFragmentCache,
+                                @Value("${server.servlet.context-path:}") String contextPath) {
+        this.templateEngine = templateEngine;
+        this.postRowsFragmentCache = postRowsFragmentCache;
+        this.commentFragmentCache = commentFragmentCache;
+        this.contextPath = contextPath;
+    }
+
+    // 목록 표의 행들, key = 목록 버전 + 정렬/페이지 (같은 키면 같은 글 목록)
+    public String postRows(String key, List<PostSummaryDto> posts) {
+        return postRowsFragmentCache.getOrLoad(key, k -> render("rows", Map.of("posts", posts)));
+    }
+
+    // 게시글 하나의 댓글들, 캐시에 있어도 버전이 다르면(그 사이 댓글이 바뀜) 다시 그린다
+    public List<RenderedComment> comments(Long postId, String version, List<CommentViewDto> comments) {
+        CommentFragments cached = commentFragmentCache.getOrLoad(postId, key -> renderComments(version, comments));
+        if (!cached.version().equals(version)) {
+            commentFragmentCache.invalidate(postId);
+            cached = commentFragmentCache.getOrLoad(postId, key -> renderComments(version, comments));
+        }
+        return cached.comments();
+    }
+
+    // 캐시하지 않고 그리기 ("댓글 더 보기"로 불러오는 다음 묶음, 같은 묶음을 다시 볼 일이 적음)
+    public List<RenderedComment> renderComments(List<CommentViewDto> comments) {
+        List<RenderedComment> rendered = new ArrayList<>(comments.size());
+        for (CommentViewDto comment : comments) {
+            rendered.add(new RenderedComment(comment.getId(), comment.getUsername(),
+                    render("comment", Map.of("comment", comment))));
+        }
+        return List.copyOf(rendered);
+    }
+
+    private CommentFragments renderComments(String version, List<CommentViewDto> comments) {
+        return new CommentFragments(version, renderComments(comments));
+    }
+
+    private String render(String fragment, Map<String, Object> variables) {
+        Context context = new Context();
+        context.setVariables(variables);
+        context.setVariable("contextPath", contextPath);
+        return templateEngine.process(TEMPLATE, Set.of(fragment), context);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.post.view;
+
+/*
+ * 미리 그려둔 댓글 한 개 (상세화면 댓글 목록)
+ * html 에는 모든 사용자에게 똑같이 보이는 부분(작성자, 내용, 작성일)만 들어 있고
+ * 수정/삭제 버튼은 로그인한 사용자마다 다르므로(CSRF 토큰 포함) detail.html 에서 username 으로 비교해 그린다
+ */
+public record RenderedComment(Long id, String username, String html) {
+}
@@ -4,11 +4,16 @@ package com.example.demo.user.controller;
 import com.example.demo.user.domain.User;
 import com.example.demo.user.dto.UserLoginRequestDto;
 import com.example.demo.user.dto.UserSignupRequestDto;
+import com.example.demo.user.security.PasswordHashingBusyException;
 import com.example.demo.user.service.UserService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -46,6 +51,14 @@ public class UserController {
         }
     }
 
+    //회원가입 중 비밀번호 해시 대기열이 가득 찬 경우 : 기다리게 하지 않고 바로 503 + 재시도 시간 안내
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> hashingBusy(PasswordHashingBusyException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingBusyException.RETRY_AFTER_SECONDS))
+                .body(e.getMessage());
+    }
+
     /*로그인 페이지*/
     @GetMapping("/login") //Get방식으로 /user/login 요청이 오면 실행할 메서드
     public String loginPage(Model model){
@@ -1,44 +1,75 @@
 package com.example.demo.user.domain;
 
-// User 엔티티를 Spring Security에서 인식할 수 있게 감싸주는 클래스
+// 로그인한 회원 정보를 Spring Security에서 인식할 수 있게 감싸주는 클래스
 
+import com.example.demo.user.dto.UserAuthDto;
+import org.springframework.security.core.CredentialsContainer; // 로그인 후 비밀번호 지우기
 import org.springframework.security.core.GrantedAuthority; // 권한 객체 타입
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails; // Security 표준 User 인터페이스
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
-public class CustomUserDetails implements UserDetails {
+public class CustomUserDetails implements UserDetails, CredentialsContainer {
     // UserDetails 인터페이스를 구현 → Security가 로그인 검증에 사용
+    // 엔티티(User)를 들고 있지 않고 필요한 값만 복사해서 가진다 >> 세션에 저장돼도 LAZY 필드/영속성 컨텍스트와 무관
 
-    private final User user;
-    // 실제 DB의 User 엔티티를 필드로 가지고 있음
+    private final Long id;
+    private final String username;
+    private String password; // 로그인 검증이 끝나면 Security가 eraseCredentials()로 지운다
+    private final String nickname;
+    private final boolean admin; // 관리자(app.admin.usernames) >> ROLE_ADMIN
+
+    public CustomUserDetails(UserAuthDto user, boolean admin) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        this.nickname = user.getNickname();
+        this.admin = admin;
+    }
+
+    public CustomUserDetails(UserAuthDto user) {
+        this(user, false);
+    }
 
     public CustomUserDetails(User user) {
-        this.user = user; // 생성자에서 User 엔티티를 받아서 저장
+        this(UserAuthDto.from(user));
     }
 
     @Override
     public String getUsername() {
         // Security가 로그인 시 아이디로 사용할 값 반환
-        return user.getUsername(); // User 엔티티의 username 필드
+        return username;
     }
 
     @Override
     public String getPassword() {
         // Security가 로그인 시 비밀번호로 사용할 값 반환
-        return user.getPassword(); // 암호화된 비밀번호
+        return password; // 암호화된 비밀번호
+    }
+
+    @Override
+    public void eraseCredentials() {
+        // 로그인 성공 후 세션에 남는 로그인 정보에서 비밀번호 해시 지우기
+        password = null;
+    }
+
+    //회원 PK 꺼내오기 >> 컨트롤러에서 users 테이블을 다시 조회하지 않고 id를 바로 사용
+    public Long getId() {
+        return id;
     }
 
     //nickname 꺼내오는 메서드 추가
     public String getNickname() {
-        return user.getNickname();
+        return nickname;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // 사용자 권한(ROLE)을 반환 → 지금은 권한 기능을 안 쓰므로 빈 리스트 반환
-        return Collections.emptyList();
+        // 사용자 권한(ROLE)을 반환 → 관리자만 ROLE_ADMIN (내보내기 등), 일반 회원은 빈 리스트
+        return admin ? List.of(new SimpleGrantedAuthority("ROLE_ADMIN")) : Collections.emptyList();
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.example.demo.user.domain;
 //회원 정보를 담는 DB 테이블 모델
 
 import com.example.demo.post.domain.Post;
+import com.example.demo.common.jpa.IdGenerators;
 import jakarta.persistence.*;
 import lombok.*;
 import java.util.List;
@@ -16,7 +17,11 @@ import java.util.ArrayList;
 @Builder
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 번호는 id_generator 테이블의 "users" 행에서 50개씩 받아와서 사용
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.KEY_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "users",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 12)
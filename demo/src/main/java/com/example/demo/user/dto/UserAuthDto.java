@@ -0,0 +1,25 @@
+package com.example.demo.user.dto;
+
+import com.example.demo.user.domain.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * 📌 로그인용 회원 정보 (userCache 에 보관)
+ * - User 엔티티를 그대로 캐시에 넣으면 LAZY 인 postList 가 세션 없이 딸려 다니고,
+ *   @Setter 가 있어서 누군가 값을 바꾸면 캐시에 든 회원 정보까지 같이 바뀐다
+ *   >> 로그인에 필요한 값만 꺼내서 바꿀 수 없는(final) 값으로 담아둔다
+ * - 요청마다 이 값으로 새 CustomUserDetails 를 만든다 (로그인 후 비밀번호 해시를 지워도 캐시에는 영향 없음)
+ */
+@Getter
+@AllArgsConstructor
+public class UserAuthDto {
+    private final Long id;
+    private final String username;
+    private final String password; // 암호화된 비밀번호
+    private final String nickname;
+
+    public static UserAuthDto from(User user) {
+        return new UserAuthDto(user.getId(), user.getUsername(), user.getPassword(), user.getNickname());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * BCrypt 해시/검증을 전용 스레드풀에서 실행하는 PasswordEncoder
+ * BCrypt는 일부러 느리게 만든 알고리즘(수십~수백 ms)이라 로그인이 몰리면 Tomcat 요청 스레드가 CPU를 다 써버리고
+ * 게시글 조회 같은 다른 요청까지 같이 느려진다.
+ * >> 동시에 해시하는 개수를 스레드풀 크기로 제한하고, 대기열까지 가득 차면 기다리지 않고 바로 503으로 거절한다.
+ * >> 작업별(encode/matches) 소요시간은 히스토그램으로 기록 (/actuator/metrics/password.hashing)
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;   // 실제 BCryptPasswordEncoder
+    private final ExecutorService executor;   // 크기/대기열이 제한된 전용 스레드풀
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.encodeTimer = timer(meterRegistry, "encode");   // 회원가입
+        this.matchesTimer = timer(meterRegistry, "matches"); // 로그인
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("대기열이 가득 차서 거절된 해시 요청 수")
+                .register(meterRegistry);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing")
+                .description("BCrypt 작업 소요시간 (대기열에서 기다린 시간 포함)")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // 해시 계산이 없으므로 바로 실행
+    }
+
+    // 서버 종료 시 스레드풀 정리 (@Bean 의 close() 자동 호출)
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(); // 대기열이 가득 참 >> 기다리지 않고 바로 거절
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 해시 작업이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.user.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/*
+ * 비밀번호 해시 작업 대기열이 가득 찼을 때 발생
+ * - 로그인 중이면 Security의 로그인 실패 핸들러로 전달되므로 AuthenticationException 계열로 만든다
+ *   (SecurityConfig 의 로그인 실패 핸들러가 503 + Retry-After 로 응답)
+ * - 회원가입 중이면 UserController 의 @ExceptionHandler 가 503 + Retry-After 로 응답
+ */
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    public static final int RETRY_AFTER_SECONDS = 1; // 잠시 후 다시 시도하라고 알려줄 시간
+
+    public PasswordHashingBusyException() {
+        super("요청이 많아 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -2,15 +2,19 @@ package com.example.demo.user.service;
 
 // DB에서 User를 조회해서 Security에 전달하는 서비스
 
-import com.example.demo.user.domain.User; // User 엔티티
+import com.example.demo.common.cache.LruTtlCache;
 import com.example.demo.user.domain.CustomUserDetails; // 우리가 만든 UserDetails 구현체
+import com.example.demo.user.dto.UserAuthDto; // 캐시에 보관하는 로그인용 회원 정보
 import com.example.demo.user.repository.UserRepository; // DB 접근용 Repository
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Service // 스프링이 관리하는 Service 컴포넌트
 @RequiredArgsConstructor // final 필드 생성자 자동 주입
 public class CustomUserDetailsService implements UserDetailsService {
@@ -18,18 +22,26 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
     // DB 조회를 위해 UserRepository 주입
+    private final LruTtlCache<String, UserAuthDto> userCache;
+    // username -> 로그인용 회원 정보 캐시 (엔티티가 아닌 바꿀 수 없는 값, 회원 정보가 바뀌면 UserService에서 해당 username만 지움)
+
+    @Value("${app.admin.usernames:}")
+    private Set<String> adminUsernames; // 관리자 아이디 목록 (아직 권한 테이블이 없어서 설정으로)
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // 로그인 시 Security가 호출하는 메서드
         // username: 로그인 폼에서 입력한 아이디
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username));
-        // DB에서 username으로 User를 찾음
+        UserAuthDto user = userCache.getOrLoad(username,
+                key -> userRepository.findByUsername(key).map(UserAuthDto::from).orElse(null));
+        if (user == null) {
+            throw new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username);
+        }
+        // 캐시에 없으면 DB에서 username으로 User를 찾음 (없는 아이디는 캐시에 넣지 않음)
         // 없으면 UsernameNotFoundException 발생 → 로그인 실패 처리됨
 
-        return new CustomUserDetails(user);
-        // 찾은 User를 CustomUserDetails로 감싸서 반환 → Security가 이 객체로 로그인 검증
+        return new CustomUserDetails(user, adminUsernames.contains(user.getUsername()));
+        // 찾은 회원 정보로 요청마다 새 CustomUserDetails를 만들어 반환 → Security가 이 객체로 로그인 검증
     }
 }
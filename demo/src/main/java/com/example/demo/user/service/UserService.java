@@ -6,7 +6,9 @@ package com.example.demo.user.service;
 비밀번호 조건 확인
 User 엔티티 생성 후 저장*/
 
+import com.example.demo.common.cache.LruTtlCache;
 import com.example.demo.user.domain.User;
+import com.example.demo.user.dto.UserAuthDto;
 import com.example.demo.user.dto.UserLoginRequestDto;
 import com.example.demo.user.dto.UserSignupRequestDto;
 import com.example.demo.user.repository.UserRepository;
@@ -20,6 +22,7 @@ import org.springframework.stereotype.Service;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;  // BCryptPasswordEncoder 주입
+    private final LruTtlCache<String, UserAuthDto> userCache; // 로그인용 회원 캐시 (회원 정보가 바뀌면 지우기)
 
     public User signup(UserSignupRequestDto dto){
         if(userRepository.findByUsername(dto.getUsername()).isPresent()){
@@ -34,7 +37,9 @@ public class UserService {
             .password(encodedPassword)// 암호화된 비밀번호 저장
             .nickname(dto.getNickname())
             .build();
-    return userRepository.save(user);
+    User saved = userRepository.save(user);
+    userCache.invalidate(saved.getUsername()); // 같은 아이디로 캐시된 값이 남아있지 않게
+    return saved;
     }
 
     /*로그인 하기*/
@@ -0,0 +1,35 @@
+-- 기준 스키마 : 그동안 ddl-auto: update 가 엔티티(Post, Comment, User)를 보고 만들어 온 테이블과 같은 모양
+-- 이미 운영 중인 DB 는 이 파일을 실행하지 않고 1번으로 표시만 한다 (spring.flyway.baseline-on-migrate)
+-- 컬럼/타입을 바꿀 때는 이 파일을 고치지 말고 V4__... 처럼 새 파일을 추가할 것 (이미 실행된 파일은 다시 실행되지 않음)
+
+create table users (
+    id       bigint       not null auto_increment,
+    username varchar(12)  not null,
+    password varchar(100) not null,
+    nickname varchar(20)  not null,
+    primary key (id),
+    constraint uk_users_username unique (username)
+) engine = InnoDB;
+
+create table post (
+    id         bigint       not null auto_increment,
+    title      varchar(100) not null,
+    content    varchar(255) not null,
+    user_id    bigint       not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_post_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table comment (
+    id         bigint       not null auto_increment,
+    content    varchar(200) not null,
+    post_id    bigint       not null,
+    user_id    bigint       not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_comment_post foreign key (post_id) references post (id),
+    constraint fk_comment_user foreign key (user_id) references users (id)
+) engine = InnoDB;
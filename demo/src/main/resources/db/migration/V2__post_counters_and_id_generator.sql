@@ -0,0 +1,30 @@
+-- 기준 스키마 이후 엔티티에 추가된 것들
+
+-- id 발급 테이블 (IDENTITY 대신 번호를 50개씩 미리 받아 배치 INSERT)
+-- 행(post/comment/users)과 시작 번호는 서버 시작 시 IdGeneratorInitializer 가 기존 최대 id 보다 크게 맞춘다
+create table id_generator (
+    sequence_name varchar(255) not null,
+    next_val      bigint,
+    primary key (sequence_name)
+) engine = InnoDB;
+
+-- 목록 화면용 댓글 수 / 마지막 댓글 시각 / 최근 활동 시각, 조회수, 백그라운드 삭제 중 표시
+alter table post
+    add column comment_count     integer     default 0 not null,
+    add column last_commented_at datetime(6),
+    add column last_activity_at  datetime(6),
+    add column view_count        bigint      default 0 not null,
+    add column purging           bit(1)      default b'0' not null;
+
+-- 기존 글 채우기 : 댓글 테이블 기준으로 댓글 수/마지막 댓글 시각, 최근 활동 시각은 마지막 댓글(없으면 작성일시)
+-- (이후 어긋나는 값은 PostStatsRepairJob 이 주기적으로 다시 맞춘다)
+update post p
+    left join (select post_id, count(*) as cnt, max(created_at) as last_at
+               from comment
+               group by post_id) c on c.post_id = p.id
+set p.comment_count     = coalesce(c.cnt, 0),
+    p.last_commented_at = c.last_at,
+    p.last_activity_at  = coalesce(c.last_at, p.created_at);
+
+-- 최근 활동순 목록 : order by last_activity_at desc, id desc
+create index idx_post_last_activity on post (last_activity_at, id);
@@ -0,0 +1,11 @@
+-- 실제 조회 패턴에 맞춘 인덱스 (QueryPlanChecker 가 시작할 때 EXPLAIN 으로 확인)
+
+-- 작성자 ID 검색 : where user_id = ? order by id desc
+-- (외래키용으로 자동 생긴 user_id 단일 인덱스는 정렬까지 처리하지 못해 filesort 가 생김)
+create index idx_post_user_id on post (user_id, id);
+
+-- 상세화면 댓글 목록 : where post_id = ? order by created_at
+create index idx_comment_post_created on comment (post_id, created_at);
+
+-- 제목+내용 검색 : LIKE '%키워드%' 대신 MATCH ... AGAINST (ngram : 한글처럼 띄어쓰기가 적은 글도 2글자 조각으로 검색)
+create fulltext index ft_post_title_content on post (title, content) with parser ngram;
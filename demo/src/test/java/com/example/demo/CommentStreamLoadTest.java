@@ -0,0 +1,154 @@
+package com.example.demo;
+
+import com.example.demo.comment.service.CommentService;
+import com.example.demo.comment.stream.CommentStreamHub;
+import com.example.demo.post.domain.Post;
+import com.example.demo.post.service.PostService;
+import com.example.demo.user.domain.User;
+import com.example.demo.user.dto.UserSignupRequestDto;
+import com.example.demo.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 부하 테스트 : 실시간 댓글(SSE) 구독자가 많을 때 (./gradlew loadTest)
+ * 한 게시글에 구독자 SUBSCRIBERS 개를 연결해두고 댓글을 COMMENTS 개 쓴 뒤
+ * 모든 구독자가 받았는지, 댓글 작성 ~ 구독자 수신까지의 지연시간(p50/p99)을 본다.
+ * 옵션 : -Dloadtest.subscribers=5000 -Dloadtest.comments=50
+ */
+@Tag("load")
+class CommentStreamLoadTest {
+
+	private static final int SUBSCRIBERS = Integer.getInteger("loadtest.subscribers", 2_000);
+	private static final int COMMENTS = Integer.getInteger("loadtest.comments", 20);
+	private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+	private static final Pattern COMMENT_NO = Pattern.compile("\"content\":\"실시간 (\\d+)\"");
+
+	@Test
+	void fanOutToManySubscribers() throws Exception {
+		long[] sentAt = new long[COMMENTS];
+		long[] latencies = new long[SUBSCRIBERS * COMMENTS];
+		AtomicInteger received = new AtomicInteger();
+		ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor();
+		try (ConfigurableApplicationContext context = start()) {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			User user = signup(context);
+			Post post = context.getBean(PostService.class).createPost("실시간 댓글", "본문", user);
+			HttpClient client = login(port);
+			CommentStreamHub hub = context.getBean(CommentStreamHub.class);
+
+			// 1. 구독자 연결 (각 구독자는 가상 스레드 하나로 이벤트를 읽기만 한다)
+			URI stream = URI.create("http://localhost:" + port + "/posts/" + post.getId() + "/comments/stream");
+			for (int s = 0; s < SUBSCRIBERS; s++) {
+				readers.submit(() -> {
+					HttpResponse<Stream<String>> response = client.send(HttpRequest.newBuilder(stream)
+							.header("Accept", "text/event-stream").build(), HttpResponse.BodyHandlers.ofLines());
+					response.body().forEach(line -> {
+						Matcher matcher = COMMENT_NO.matcher(line);
+						if (matcher.find()) {
+							long latency = System.nanoTime() - sentAt[Integer.parseInt(matcher.group(1))];
+							int index = received.getAndIncrement();
+							if (index < latencies.length) {
+								latencies[index] = latency;
+							}
+						}
+					});
+					return null;
+				});
+			}
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+			while (hub.subscriberCount() < SUBSCRIBERS && System.nanoTime() < deadline) {
+				Thread.sleep(50);
+			}
+			assertThat(hub.subscriberCount()).isEqualTo(SUBSCRIBERS);
+			Thread.sleep(500); // 첫 ping 이 모두에게 도착할 시간
+
+			// 2. 댓글 작성 >> 모든 구독자에게 전달
+			CommentService commentService = context.getBean(CommentService.class);
+			long start = System.nanoTime();
+			for (int c = 0; c < COMMENTS; c++) {
+				sentAt[c] = System.nanoTime();
+				commentService.createComment(post.getId(), user.getId(), "실시간 " + c);
+			}
+			int expected = SUBSCRIBERS * COMMENTS;
+			deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+			while (received.get() < expected && System.nanoTime() < deadline) {
+				Thread.sleep(20);
+			}
+			double seconds = (System.nanoTime() - start) / 1e9;
+			double dropped = context.getBean(MeterRegistry.class).counter("comment.stream.dropped").count();
+
+			int count = Math.min(received.get(), latencies.length);
+			long[] measured = Arrays.copyOf(latencies, count);
+			Arrays.sort(measured);
+			System.out.printf("%n=== 실시간 댓글 부하 테스트 (구독자 %d, 댓글 %d) ===%n", SUBSCRIBERS, COMMENTS);
+			System.out.printf("받은 이벤트 %d / %d  (%.0f events/s)  p50 %.1fms  p99 %.1fms  끊긴 구독자 %.0f%n",
+					received.get(), expected, received.get() / seconds,
+					count == 0 ? 0 : measured[count / 2] / 1e6,
+					count == 0 ? 0 : measured[(int) (count * 0.99)] / 1e6,
+					dropped);
+			assertThat(received.get()).isEqualTo(expected);
+		} finally {
+			readers.shutdownNow(); // 서버가 내려가면서 연결을 닫으므로 읽던 스레드도 끝난다
+		}
+	}
+
+	private ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(DemoApplication.class)
+				.properties("server.port=0",
+						"management.server.port=-1",
+						"spring.threads.virtual.enabled=true",
+						"spring.datasource.url=jdbc:h2:mem:stream;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+						"spring.jpa.show-sql=false",
+						"app.comment-stream.max-subscribers=" + (SUBSCRIBERS + 10))
+				.run();
+	}
+
+	private User signup(ConfigurableApplicationContext context) {
+		UserSignupRequestDto dto = new UserSignupRequestDto();
+		dto.setUsername("streamuser");
+		dto.setPassword("streampass1");
+		dto.setNickname("실시간");
+		return context.getBean(UserService.class).signup(dto);
+	}
+
+	// 로그인 폼의 CSRF 토큰을 꺼내서 폼 로그인 >> 세션 쿠키를 가진 HttpClient
+	private HttpClient login(int port) throws Exception {
+		HttpClient client = HttpClient.newBuilder()
+				.cookieHandler(new CookieManager())
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+		String loginPage = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/user/login")).build(),
+				HttpResponse.BodyHandlers.ofString()).body();
+		Matcher matcher = CSRF.matcher(loginPage);
+		assertThat(matcher.find()).isTrue();
+		String form = "username=streamuser&password=streampass1&_csrf=" + URLEncoder.encode(matcher.group(1), StandardCharsets.UTF_8);
+		HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/user/login"))
+						.header("Content-Type", "application/x-www-form-urlencoded")
+						.POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+				HttpResponse.BodyHandlers.discarding());
+		assertThat(response.statusCode()).isEqualTo(302);
+		return client;
+	}
+}
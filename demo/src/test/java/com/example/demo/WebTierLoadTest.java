@@ -0,0 +1,160 @@
+package com.example.demo;
+
+import com.example.demo.comment.service.CommentService;
+import com.example.demo.post.domain.Post;
+import com.example.demo.post.service.PostService;
+import com.example.demo.user.domain.User;
+import com.example.demo.user.dto.UserSignupRequestDto;
+import com.example.demo.user.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 부하 테스트 : 플랫폼 스레드 모드 vs 가상 스레드 모드 (./gradlew loadTest)
+ * 같은 데이터로 서버를 두 번 띄워서 /posts, /posts/{id} 의 처리량(req/s)과 p50/p99 지연시간을 비교한다.
+ * 기본은 내장 H2 라서 DB 대기시간이 거의 없다 >> 실제 차이를 보려면 MySQL 로 실행
+ *   ./gradlew loadTest -Dloadtest.db.url=jdbc:mysql://localhost:3306/loadtest -Dloadtest.db.username=root -Dloadtest.db.password=1234
+ * 그 밖의 옵션 : -Dloadtest.concurrency=400 -Dloadtest.requests=20000 -Dloadtest.posts=1000
+ */
+@Tag("load")
+class WebTierLoadTest {
+
+	private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 400);
+	private static final int REQUESTS = Integer.getInteger("loadtest.requests", 20_000);
+	private static final int POSTS = Integer.getInteger("loadtest.posts", 1_000);
+	private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+	@Test
+	void comparePlatformAndVirtualThreads() throws Exception {
+		List<String> report = new ArrayList<>();
+		for (boolean virtual : new boolean[]{false, true}) {
+			try (ConfigurableApplicationContext context = start(virtual)) {
+				int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+				long[] postIds = seed(context);
+				HttpClient client = login(port);
+				String mode = virtual ? "virtual " : "platform";
+				report.add(mode + " GET /posts      " + run(client, i -> "http://localhost:" + port + "/posts"));
+				report.add(mode + " GET /posts/{id} " + run(client, i -> "http://localhost:" + port + "/posts/"
+						+ postIds[ThreadLocalRandom.current().nextInt(postIds.length)]));
+			}
+		}
+		System.out.printf("%n=== 부하 테스트 결과 (동시 %d, 요청 %d회) ===%n", CONCURRENCY, REQUESTS);
+		report.forEach(System.out::println);
+	}
+
+	private ConfigurableApplicationContext start(boolean virtual) {
+		String url = System.getProperty("loadtest.db.url",
+				"jdbc:h2:mem:load" + virtual + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+		List<String> properties = new ArrayList<>(List.of(
+				"server.port=0",
+				"management.server.port=-1",
+				"spring.threads.virtual.enabled=" + virtual,
+				"spring.datasource.url=" + url,
+				"spring.jpa.show-sql=false"));
+		if (System.getProperty("loadtest.db.username") != null) {
+			properties.add("spring.datasource.username=" + System.getProperty("loadtest.db.username"));
+			properties.add("spring.datasource.password=" + System.getProperty("loadtest.db.password", ""));
+			properties.add("spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver");
+		}
+		return new SpringApplicationBuilder(DemoApplication.class)
+				.properties(properties.toArray(String[]::new))
+				.run();
+	}
+
+	private long[] seed(ConfigurableApplicationContext context) {
+		UserSignupRequestDto dto = new UserSignupRequestDto();
+		dto.setUsername("loaduser");
+		dto.setPassword("loadpass1");
+		dto.setNickname("부하테스트");
+		User user = context.getBean(UserService.class).signup(dto);
+
+		PostService postService = context.getBean(PostService.class);
+		CommentService commentService = context.getBean(CommentService.class);
+		long[] postIds = new long[POSTS];
+		for (int i = 0; i < POSTS; i++) {
+			Post post = postService.createPost("부하 테스트 " + i, "본문 " + i, user);
+			postIds[i] = post.getId();
+			for (int c = 0; c < 5; c++) {
+				commentService.createComment(post.getId(), user.getId(), "댓글 " + c);
+			}
+		}
+		return postIds;
+	}
+
+	// 로그인 폼의 CSRF 토큰을 꺼내서 폼 로그인 >> 세션 쿠키를 가진 HttpClient
+	private HttpClient login(int port) throws Exception {
+		HttpClient client = HttpClient.newBuilder()
+				.cookieHandler(new CookieManager())
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+		String loginPage = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/user/login")).build(),
+				HttpResponse.BodyHandlers.ofString()).body();
+		Matcher matcher = CSRF.matcher(loginPage);
+		assertThat(matcher.find()).isTrue();
+		String form = "username=loaduser&password=loadpass1&_csrf=" + URLEncoder.encode(matcher.group(1), StandardCharsets.UTF_8);
+		HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/user/login"))
+						.header("Content-Type", "application/x-www-form-urlencoded")
+						.POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+				HttpResponse.BodyHandlers.discarding());
+		assertThat(response.statusCode()).isEqualTo(302);
+		return client;
+	}
+
+	// CONCURRENCY 개의 작업자가 REQUESTS 번 요청을 나눠서 보내고 처리량/p50/p99 계산
+	private String run(HttpClient client, IntFunction<String> url) throws Exception {
+		long[] latencies = new long[REQUESTS];
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger errors = new AtomicInteger();
+		long start = System.nanoTime();
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int w = 0; w < CONCURRENCY; w++) {
+				workers.submit(() -> {
+					int i;
+					while ((i = next.getAndIncrement()) < REQUESTS) {
+						long begin = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(url.apply(i))).build(),
+									HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() != 200) {
+								errors.incrementAndGet();
+							}
+						} catch (Exception e) {
+							errors.incrementAndGet();
+						}
+						latencies[i] = System.nanoTime() - begin;
+					}
+					return null;
+				});
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		Arrays.sort(latencies);
+		return String.format("%8.0f req/s  p50 %6.1fms  p99 %6.1fms  errors %d",
+				REQUESTS / seconds,
+				latencies[REQUESTS / 2] / 1e6,
+				latencies[(int) (REQUESTS * 0.99)] / 1e6,
+				errors.get());
+	}
+}
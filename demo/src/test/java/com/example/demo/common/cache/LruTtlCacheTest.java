@@ -0,0 +1,87 @@
+package com.example.demo.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 읽는 도중의 무효화 확인 : 같은 키가 무효화되면 읽은 값을 버리고, 다른 키의 무효화는 상관없다
+ * (loader 안에서 invalidate 를 불러서 "DB 조회 중에 다른 요청이 글을 수정한" 상황을 만든다)
+ * 같은 키를 동시에 못 찾은 요청들은 DB 조회 한 번을 같이 기다린다
+ */
+class LruTtlCacheTest {
+
+	private final LruTtlCache<Long, String> cache = new LruTtlCache<>("test", 10, Duration.ofMinutes(10));
+
+	@Test
+	void dropsValueWhenSameKeyIsInvalidatedDuringLoad() {
+		String loaded = cache.getOrLoad(1L, key -> {
+			cache.invalidate(1L);
+			return "old";
+		});
+
+		assertThat(loaded).isEqualTo("old"); // 이번 요청에는 읽은 값을 그대로 돌려주지만
+		assertThat(cache.get(1L)).isNull();  // 캐시에는 넣지 않는다
+	}
+
+	@Test
+	void keepsValueWhenOtherKeyIsInvalidatedDuringLoad() {
+		cache.getOrLoad(1L, key -> {
+			cache.invalidate(2L);
+			return "one";
+		});
+
+		assertThat(cache.get(1L)).isEqualTo("one");
+	}
+
+	@Test
+	void concurrentMissesShareOneLoad() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		Function<Long, String> slowLoader = key -> {
+			loads.incrementAndGet();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "value";
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> first = executor.submit(() -> cache.getOrLoad(1L, slowLoader));
+			Future<String> second = executor.submit(() -> cache.getOrLoad(1L, slowLoader));
+			while (cache.missCount() < 2) { // 두 요청 모두 캐시를 못 찾은 뒤에 DB 조회를 끝낸다
+				Thread.onSpinWait();
+			}
+			release.countDown();
+
+			assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+			assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+			assertThat(loads.get()).isEqualTo(1);
+			assertThat(cache.get(1L)).isEqualTo("value");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void dropsValueWhenCacheIsClearedDuringLoad() {
+		cache.getOrLoad(1L, key -> {
+			cache.clear();
+			return "old";
+		});
+
+		assertThat(cache.get(1L)).isNull();
+	}
+}
@@ -0,0 +1,141 @@
+package com.example.demo.common.datasource;
+
+import com.example.demo.common.cache.LruTtlCache;
+import com.example.demo.config.DataSourceRoutingConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * primary / replica 라우팅 확인 : 내장 H2 두 개(rw_primary, rw_replica)를 띄우고
+ * 각 트랜잭션이 실제로 어느 DB 에 붙었는지 database() 로 본다.
+ * (앱 전체를 띄우면 시작할 때 읽기 쿼리가 빈 replica 로 가므로 JPA 부분만 띄움)
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rw_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"app.datasource.replica.url=jdbc:h2:mem:rw_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"app.datasource.replica.username=sa",
+		"app.datasource.replica.password=",
+		"app.datasource.replica.driver-class-name=org.h2.Driver",
+		"spring.jpa.properties.hibernate.connection.handling_mode=DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) // 내장 DB 하나로 바꾸지 않기
+@Import({DataSourceRoutingConfig.class, PrimaryReader.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 테스트 메서드를 트랜잭션으로 감싸지 않기 (직접 시작)
+class ReadWriteRoutingTest {
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	@Autowired
+	PrimaryReader primaryReader;
+
+	@AfterEach
+	void clear() {
+		ReadYourWrites.end();
+	}
+
+	@Test
+	void readOnlyTransactionGoesToReplica() {
+		assertThat(currentDatabase(true)).isEqualToIgnoringCase("rw_replica");
+	}
+
+	@Test
+	void writeTransactionGoesToPrimary() {
+		assertThat(currentDatabase(false)).isEqualToIgnoringCase("rw_primary");
+	}
+
+	@Test
+	void readAfterOwnWriteGoesToPrimary() {
+		ReadWriteRoutingInterceptorFlow flow = new ReadWriteRoutingInterceptorFlow();
+
+		flow.start();
+		currentDatabase(false); // 글/댓글 작성 요청
+		flow.finish();
+
+		flow.start();
+		assertThat(currentDatabase(true)).isEqualToIgnoringCase("rw_primary"); // 같은 세션의 다음 읽기
+		flow.finish();
+
+		ReadYourWrites.begin(false); // 다른 사용자(세션)의 읽기는 그대로 replica
+		assertThat(currentDatabase(true)).isEqualToIgnoringCase("rw_replica");
+	}
+
+	@Test
+	void writeIsRecordedAtCommitBeforeRequestCompletes() {
+		// redirect 응답은 요청이 끝나기(afterCompletion) 전에 나가므로 쓰기 시각은 커밋 때 이미 세션에 있어야 한다
+		ReadWriteRoutingInterceptorFlow flow = new ReadWriteRoutingInterceptorFlow();
+
+		flow.start();
+		currentDatabase(false);
+		assertThat(flow.lastWriteRecorded()).isTrue();
+
+		flow.start(); // 앞 요청의 afterCompletion 전에 도착한 다음 요청
+		assertThat(currentDatabase(true)).isEqualToIgnoringCase("rw_primary");
+		flow.finish();
+	}
+
+	@Test
+	void sharedCacheIsFilledFromPrimaryEvenForOtherSessions() {
+		// 글을 수정한 사람이 아닌 다른 세션이 캐시를 채우는 상황 : 바깥 읽기 전용 트랜잭션은 replica 를 쓰지만
+		// 캐시에 들어가는 값은 primary 에서 읽은 것이어야 한다 (replica 의 옛 값이 유효시간 내내 남지 않도록)
+		LruTtlCache<Long, String> cache = new LruTtlCache<>("test", 10, Duration.ofMinutes(10));
+		ReadYourWrites.begin(false);
+
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		String outer = readOnly.execute(status -> {
+			String cached = cache.getOrLoad(1L, key -> primaryReader.read(
+					() -> jdbcTemplate.queryForObject("select database()", String.class)));
+			assertThat(cached).isEqualToIgnoringCase("rw_primary");
+			return jdbcTemplate.queryForObject("select database()", String.class);
+		});
+
+		assertThat(outer).isEqualToIgnoringCase("rw_replica"); // 캐시 밖의 읽기는 그대로 replica
+		assertThat(cache.get(1L)).isEqualToIgnoringCase("rw_primary");
+		assertThat(currentDatabase(true)).isEqualToIgnoringCase("rw_replica"); // onPrimary 표시가 남지 않음
+	}
+
+	private String currentDatabase(boolean readOnly) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(readOnly);
+		return transaction.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+	}
+
+	// 같은 세션으로 요청을 두 번 보내는 흐름 (ReadYourWritesInterceptor 의 요청 시작/끝)
+	private static final class ReadWriteRoutingInterceptorFlow {
+		private final ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofSeconds(5));
+		private final MockHttpSession session = new MockHttpSession();
+		private MockHttpServletRequest request;
+
+		void start() {
+			request = new MockHttpServletRequest();
+			request.setSession(session);
+			interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+		}
+
+		void finish() {
+			interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+		}
+
+		boolean lastWriteRecorded() {
+			return session.getAttribute(ReadYourWritesInterceptor.LAST_WRITE_ATTRIBUTE) != null;
+		}
+	}
+}
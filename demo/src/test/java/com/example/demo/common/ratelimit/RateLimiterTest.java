@@ -0,0 +1,62 @@
+package com.example.demo.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 토큰 버킷(GCRA) 계산 확인 : 시계를 직접 움직여서 burst / 충전 속도 / 기다릴 시간을 본다
+ */
+class RateLimiterTest {
+
+	private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+	@Test
+	void allowsBurstThenRejectsWithRetryTime() {
+		RateLimiter limiter = new RateLimiter("test", 3, 60, now::get); // 3개까지 몰아서, 그 뒤로 1초에 1개
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+		assertThat(limiter.tryAcquire("b")).isZero(); // 다른 키는 따로
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(1)); // 1초 지나면 1개 충전
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isPositive();
+	}
+
+	@Test
+	void removesOnlyFullBuckets() {
+		RateLimiter limiter = new RateLimiter("test", 2, 60, now::get);
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("b");
+		limiter.tryAcquire("b");
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(1)); // a 는 다시 가득, b 는 아직 1개 비어 있음
+		limiter.removeIdle();
+		assertThat(limiter.size()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentRequestsNeverExceedBurst() throws Exception {
+		RateLimiter limiter = new RateLimiter("test", 100, 1, now::get); // 시계가 멈춰 있으므로 burst 만큼만 허용
+		AtomicInteger allowed = new AtomicInteger();
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			for (int i = 0; i < 10_000; i++) {
+				executor.submit(() -> {
+					if (limiter.tryAcquire("same") == 0) {
+						allowed.incrementAndGet();
+					}
+				});
+			}
+		}
+		assertThat(allowed.get()).isEqualTo(100);
+	}
+}
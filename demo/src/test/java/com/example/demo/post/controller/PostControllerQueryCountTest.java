@@ -0,0 +1,151 @@
+package com.example.demo.post.controller;
+
+import com.example.demo.comment.dto.CommentPage;
+import com.example.demo.comment.service.CommentService;
+import com.example.demo.common.cache.LruTtlCache;
+import com.example.demo.post.domain.Post;
+import com.example.demo.post.dto.PostDetailDto;
+import com.example.demo.post.service.PostService;
+import com.example.demo.post.view.CommentFragments;
+import com.example.demo.user.domain.CustomUserDetails;
+import com.example.demo.user.domain.User;
+import com.example.demo.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * 목록/상세/검색 화면 한 번 렌더링에 실행되는 SQL 개수 확인 (N+1 문제 재발 방지)
+ * 작성자가 모두 다른 게시글 10개, 작성자가 모두 다른 댓글 5개를 만들어 두고
+ * 작성자 수만큼 SELECT가 늘어나지 않는지 본다.
+ * 테스트마다 캐시를 비우고 시작한다 (앞 테스트가 채운 캐시 덕분에 쿼리가 적게 나오는 일이 없도록)
+ */
+@SpringBootTest(properties = "app.view-count.flush-interval-ms=3600000") // 조회수 반영 작업이 중간에 끼어 SQL 개수가 바뀌지 않도록
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostControllerQueryCountTest {
+
+	@Autowired
+	MockMvc mockMvc;
+	@Autowired
+	PostService postService;
+	@Autowired
+	CommentService commentService;
+	@Autowired
+	UserRepository userRepository;
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	@Autowired
+	LruTtlCache<Long, PostDetailDto> postDetailCache;
+	@Autowired
+	LruTtlCache<Long, CommentPage> commentListCache;
+	@Autowired
+	LruTtlCache<String, String> postRowsFragmentCache;
+	@Autowired
+	LruTtlCache<Long, CommentFragments> commentFragmentCache;
+
+	private User viewer;
+	private Long postId;
+
+	@BeforeAll
+	void seed() {
+		viewer = userRepository.save(newUser("qc_viewer"));
+		for (int i = 0; i < 10; i++) {
+			Post post = postService.createPost("쿼리 개수 " + i, "본문 " + i, userRepository.save(newUser("qc_writer" + i)));
+			postId = post.getId();
+		}
+		for (int i = 0; i < 5; i++) {
+			commentService.createComment(postId, userRepository.save(newUser("qc_comm" + i)).getId(), "댓글 " + i);
+		}
+	}
+
+	@BeforeEach
+	void clearCaches() {
+		postDetailCache.clear();
+		commentListCache.clear();
+		postRowsFragmentCache.clear();
+		commentFragmentCache.clear();
+	}
+
+	@Test
+	void listPageRunsSingleQuery() throws Exception {
+		assertThat(countStatements(get("/posts"))).isLessThanOrEqualTo(1);
+	}
+
+	@Test
+	void searchPageRunsSingleQuery() throws Exception {
+		assertThat(countStatements(get("/posts/search").param("type", "titleContent").param("keyword", "쿼리")))
+				.isLessThanOrEqualTo(1);
+	}
+
+	@Test
+	void detailPageDoesNotQueryPerCommenter() throws Exception {
+		// 캐시가 빈 상태 : 게시글+작성자 1번, 댓글+댓글작성자 1번 (댓글 작성자 5명이어도 2번)
+		assertThat(countStatements(get("/posts/{id}", postId))).isEqualTo(2);
+		// 같은 글을 다시 열면 캐시에서
+		assertThat(countStatements(get("/posts/{id}", postId))).isZero();
+	}
+
+	@Test
+	void unchangedListIsAnsweredWith304WithoutQueries() throws Exception {
+		String etag = mockMvc.perform(get("/posts").with(user(new CustomUserDetails(viewer))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).isNotNull();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get("/posts").header(HttpHeaders.IF_NONE_MATCH, etag).with(user(new CustomUserDetails(viewer))))
+				.andExpect(status().isNotModified());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void detailIsRenderedAgainAfterNewComment() throws Exception {
+		String etag = mockMvc.perform(get("/posts/{id}", postId).with(user(new CustomUserDetails(viewer))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, etag)
+						.with(user(new CustomUserDetails(viewer))))
+				.andExpect(status().isNotModified());
+
+		commentService.createComment(postId, viewer.getId(), "새 댓글");
+		mockMvc.perform(get("/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, etag)
+						.with(user(new CustomUserDetails(viewer))))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void exportIsForbiddenForNonAdmin() throws Exception {
+		mockMvc.perform(get("/posts/export").with(user(new CustomUserDetails(viewer))))
+				.andExpect(status().isForbidden());
+	}
+
+	private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		RequestBuilder withUser = request.with(user(new CustomUserDetails(viewer)));
+		mockMvc.perform(withUser).andExpect(status().isOk());
+		return statistics.getPrepareStatementCount();
+	}
+
+	private User newUser(String username) {
+		return User.builder().username(username).password("{noop}pw").nickname(username).build();
+	}
+}
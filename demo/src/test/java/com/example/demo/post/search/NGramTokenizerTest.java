@@ -0,0 +1,42 @@
+package com.example.demo.post.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 2글자 조각(bi-gram) 자르기 확인
+ */
+class NGramTokenizerTest {
+
+	@Test
+	void splitsWordIntoOverlappingBigrams() {
+		assertThat(NGramTokenizer.tokenize("게시판에")).isEqualTo(Map.of("게시", 1, "시판", 1, "판에", 1));
+	}
+
+	@Test
+	void splitsOnSpacesAndPunctuationAndCountsRepeats() {
+		assertThat(NGramTokenizer.tokenize("하하하, 하하!"))
+				.isEqualTo(Map.of("하하", 3)); // 하하하 -> [하하, 하하] + 하하 -> [하하]
+	}
+
+	@Test
+	void keepsSingleCharacterWordsAsTheyAre() {
+		assertThat(NGramTokenizer.tokenize("a 글 ok")).isEqualTo(Map.of("a", 1, "글", 1, "ok", 1));
+	}
+
+	@Test
+	void ignoresCaseAndFullWidth() {
+		assertThat(NGramTokenizer.tokenize("ＳＱＬ")).isEqualTo(NGramTokenizer.tokenize("sql"));
+		assertThat(NGramTokenizer.tokenize("SqL")).isEqualTo(Map.of("sq", 1, "ql", 1));
+	}
+
+	@Test
+	void returnsNothingForBlankText() {
+		assertThat(NGramTokenizer.tokenize(null)).isEmpty();
+		assertThat(NGramTokenizer.tokenize("  ")).isEmpty();
+		assertThat(NGramTokenizer.tokenize("?!")).isEmpty();
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.demo.post.search;
+
+import com.example.demo.post.domain.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 메모리 역색인 검색 확인 : 조각 교집합, 점수 순서, 페이지, 한 글자 검색, 수정/삭제 반영
+ * (DB 는 시작할 때 rebuild 에서만 쓰므로 리포지토리 없이 index() 로 직접 넣는다)
+ */
+class PostSearchIndexTest {
+
+	private final PostSearchIndex index = new PostSearchIndex(null);
+
+	@Test
+	void returnsOnlyPostsHavingEveryGram() {
+		index.index(post(1L, "게시판 공지", "내용"));
+		index.index(post(2L, "게시물 안내", "판매"));    // 게시, 판 은 있지만 "시판" 조각이 없음
+		index.index(post(3L, "안내", "자유 게시판입니다"));
+
+		assertThat(index.search("게시판", 0, 10).postIds()).containsExactlyInAnyOrder(1L, 3L);
+		assertThat(index.search("게시판 없는단어", 0, 10).postIds()).isEmpty();
+	}
+
+	@Test
+	void ranksTitleMatchAboveContentMatchAndNewerFirstOnTies() {
+		index.index(post(1L, "안내", "공지 사항"));
+		index.index(post(2L, "공지 사항", "안내"));   // 제목에 있으면 가중치 3배
+		index.index(post(3L, "안내", "공지 사항"));   // 1번과 점수가 같으면 번호가 큰(최신) 글 먼저
+
+		assertThat(index.search("공지", 0, 10).postIds()).containsExactly(2L, 3L, 1L);
+	}
+
+	@Test
+	void returnsRequestedPageWithTotal() {
+		for (long id = 1; id <= 5; id++) {
+			index.index(post(id, "같은 제목", "같은 내용"));
+		}
+		PostSearchIndex.SearchResult page = index.search("제목", 2, 2);
+		assertThat(page.postIds()).containsExactly(3L, 2L);
+		assertThat(page.total()).isEqualTo(5);
+		assertThat(index.search("제목", 10, 2).postIds()).isEmpty();
+	}
+
+	@Test
+	void findsSingleCharacterInsideLongerWords() {
+		index.index(post(1L, "가나다", "본문"));
+		index.index(post(2L, "라마", "본문"));
+
+		assertThat(index.search("나", 0, 10).postIds()).containsExactly(1L);
+		index.remove(1L);
+		assertThat(index.search("나", 0, 10).postIds()).isEmpty();
+	}
+
+	@Test
+	void reindexReplacesOldGrams() {
+		index.index(post(1L, "예전 제목", "본문"));
+		index.index(post(1L, "새로운 제목", "본문"));
+
+		assertThat(index.search("예전", 0, 10).postIds()).isEmpty();
+		assertThat(index.search("새로운", 0, 10).postIds()).containsExactly(1L);
+	}
+
+	@Test
+	void afterCommitMethodsApplyImmediatelyOutsideTransaction() {
+		index.indexAfterCommit(post(1L, "트랜잭션 밖", "본문"));
+		assertThat(index.search("트랜잭션", 0, 10).postIds()).containsExactly(1L);
+
+		index.removeAfterCommit(1L);
+		assertThat(index.search("트랜잭션", 0, 10).postIds()).isEmpty();
+	}
+
+	private Post post(Long id, String title, String content) {
+		Post post = new Post(title, content, null);
+		ReflectionTestUtils.setField(post, "id", id);
+		return post;
+	}
+}